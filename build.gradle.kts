@@ -13,6 +13,21 @@ repositories {
 
 dependencies {
     compileOnly(files("libs/HytaleServer.jar"))
+
+    testImplementation(files("libs/HytaleServer.jar"))
+    testImplementation(platform("org.junit:junit-bom:5.10.2"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation("org.mockito:mockito-core:5.11.0")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
+    // Budget violations fail the build instead of logging a warning
+    systemProperty("testui.payload.strict", "true")
+    System.getProperty("testui.payload.updateGoldens")?.let { systemProperty("testui.payload.updateGoldens", it) }
+    // Mockito attaches its agent at runtime
+    jvmArgs("-XX:+EnableDynamicAgentLoading")
 }
 
 tasks.jar {
@@ -1,18 +1,125 @@
 package de.noel.testui;
 
+import de.noel.testui.async.AsyncUiExecutor;
+import de.noel.testui.cluster.ClusterStatsView;
 import de.noel.testui.commands.*;
+import de.noel.testui.diagnostics.AllocationBudget;
+import de.noel.testui.diagnostics.UiTrace;
+import de.noel.testui.grid.LedgerCommand;
+import de.noel.testui.drafts.DraftCache;
+import de.noel.testui.drafts.FormDraft;
+import de.noel.testui.fragments.FragmentCache;
+import de.noel.testui.grid.DataGridPage;
+import de.noel.testui.i18n.Localization;
+import de.noel.testui.notify.NotificationService;
+import de.noel.testui.pages.FormPage;
+import de.noel.testui.pages.InfoPanelPage;
+import de.noel.testui.payload.PayloadBudget;
+import de.noel.testui.payload.PayloadMeter;
+import de.noel.testui.session.PageSessions;
+import de.noel.testui.stats.WorldStatsAggregator;
 import de.noel.testui.tutorial.level1.Tutorial1Command;
 import de.noel.testui.tutorial.level2.Tutorial2Command;
 import de.noel.testui.tutorial.level3.Tutorial3Command;
+import de.noel.testui.tutorial.level3.Tutorial3Dashboard;
+import de.noel.testui.wizard.OnboardingCommand;
+import de.noel.testui.wizard.OnboardingPage;
+import de.noel.testui.tutorial.level3.Tutorial3Page;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 import javax.annotation.Nonnull;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 public class TestUIPlugin extends JavaPlugin {
 
+    private static TestUIPlugin instance;
+
+    // Background thread for periodic work (notification flushing, ...)
+    private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "TestUIPlugin-Scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Virtual threads for slow page handlers: 64 at a time, at most 1024 waiting
+    private final AsyncUiExecutor asyncExecutor = new AsyncUiExecutor(64, 1024);
+
+    // Language bundles from lang/*.properties - the first locale is the default
+    private final Localization localization = new Localization("en", "de");
+
+    // Cached role/locale-specific page fragments
+    private final FragmentCache fragmentCache = new FragmentCache(128);
+
+    private final NotificationService notifications = new NotificationService(1000);
+
+    // Per-world stats for /info, sampled every 5 seconds
+    private final WorldStatsAggregator worldStats = new WorldStatsAggregator(5000);
+
+    // Totals of all servers, exchanged every 5 seconds (testui.cluster.* properties)
+    private final ClusterStatsView clusterStats = ClusterStatsView.fromSystemProperties(worldStats::getSnapshot, 5000);
+
+    // Live uptime/event timers for /tutorial3, shared by all viewers
+    private final Tutorial3Dashboard dashboard = new Tutorial3Dashboard();
+
+    // Unsaved /form input: committed after 1s without changes, kept for 15 minutes
+    private final DraftCache<FormDraft> formDrafts = new DraftCache<>(1000, 15 * 60 * 1000, 10_000);
+
+    // Open form/info/tutorial3 pages, reopened after a reconnect or restart (kept 30 minutes)
+    private final PageSessions pageSessions;
+
     public TestUIPlugin(@Nonnull JavaPluginInit init) {
         super(init);
+        instance = this;
+        // On shutdown, drop waiting tasks but let a running one (e.g. a session flush) finish
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        pageSessions = new PageSessions(init.getDataDirectory().resolve("sessions.bin"), 30 * 60 * 1000);
+    }
+
+    /**
+     * Access the plugin from pages and commands.
+     */
+    public static TestUIPlugin get() {
+        return instance;
+    }
+
+    public AsyncUiExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    public Localization getLocalization() {
+        return localization;
+    }
+
+    public FragmentCache getFragmentCache() {
+        return fragmentCache;
+    }
+
+    public NotificationService getNotifications() {
+        return notifications;
+    }
+
+    public WorldStatsAggregator getWorldStats() {
+        return worldStats;
+    }
+
+    public ClusterStatsView getClusterStats() {
+        return clusterStats;
+    }
+
+    public DraftCache<FormDraft> getFormDrafts() {
+        return formDrafts;
+    }
+
+    public Tutorial3Dashboard getDashboard() {
+        return dashboard;
+    }
+
+    public PageSessions getPageSessions() {
+        return pageSessions;
     }
 
     @Override
@@ -25,12 +132,80 @@ public class TestUIPlugin extends JavaPlugin {
         getCommandRegistry().registerCommand(new FormCommand());
         getCommandRegistry().registerCommand(new InfoCommand());
         getCommandRegistry().registerCommand(new HelloWorldCommand());
+        getCommandRegistry().registerCommand(new LedgerCommand());
+        getCommandRegistry().registerCommand(new OnboardingCommand());
 
         // Register tutorial commands
         getCommandRegistry().registerCommand(new Tutorial1Command());
         getCommandRegistry().registerCommand(new Tutorial2Command());
         getCommandRegistry().registerCommand(new Tutorial3Command());
 
-        getLogger().at(Level.INFO).log("Commands registered: /testui, /dialog, /form, /info, /tutorial1, /tutorial2, /tutorial3");
+        configureBudgets();
+
+        // Pages that can be reopened from a saved session
+        pageSessions.register(FormPage.SESSION_TYPE, FormPage::restore);
+        pageSessions.register(InfoPanelPage.SESSION_TYPE, InfoPanelPage::restore);
+        pageSessions.register(Tutorial3Page.SESSION_TYPE, Tutorial3Page::restore);
+
+        // Start background services
+        notifications.start(scheduler);
+        formDrafts.start(scheduler);
+        worldStats.start(scheduler);
+        clusterStats.start(scheduler);
+        dashboard.start(scheduler);
+        pageSessions.start(scheduler);
+
+        // Drop per-player state when a player leaves (drafts are kept until their TTL)
+        getEventRegistry().register(PlayerDisconnectEvent.class, event -> {
+            notifications.forget(event.getPlayerRef().getUuid());
+            formDrafts.flush(event.getPlayerRef().getUuid());
+            dashboard.forget(event.getPlayerRef().getUuid());
+            pageSessions.disconnected(event.getPlayerRef().getUuid());
+        });
+
+        // Reopen the page a player had open when they left
+        getEventRegistry().registerGlobal(PlayerReadyEvent.class, event -> pageSessions.restore(event.getPlayer(), event.getPlayerRef()));
+
+        getLogger().at(Level.INFO).log("Commands registered: /testui, /dialog, /form, /info, /ledger, /onboarding, /tutorial1, /tutorial2, /tutorial3");
+    }
+
+    /**
+     * Payload and allocation budgets of the pages. Also used by the tests, so
+     * they check exactly what the server enforces.
+     */
+    static void configureBudgets() {
+        // Payload budgets per build/update (bytes, commands + bindings)
+        PayloadMeter.setBudget(InfoPanelPage.class, new PayloadBudget(4096, 64));
+        // Translated labels add up to ten commands on top of the seven values
+        PayloadMeter.setBudget(Tutorial3Page.class, new PayloadBudget(1024, 24));
+        PayloadMeter.setBudget(FormPage.class, new PayloadBudget(2048, 16));
+        PayloadMeter.setBudget(DataGridPage.class, new PayloadBudget(8192, 160));
+        // Step changes are updates too, so this also caps the per-step payload
+        PayloadMeter.setBudget(OnboardingPage.class, new PayloadBudget(2048, 24));
+
+        // Heap allocated per build/handler on the world thread (bytes)
+        UiTrace.setAllocationBudget(InfoPanelPage.class, new AllocationBudget(128 * 1024, 32 * 1024));
+        UiTrace.setAllocationBudget(Tutorial3Page.class, new AllocationBudget(32 * 1024, 8 * 1024));
+        UiTrace.setAllocationBudget(FormPage.class, new AllocationBudget(64 * 1024, 16 * 1024));
+        UiTrace.setAllocationBudget(OnboardingPage.class, new AllocationBudget(64 * 1024, 16 * 1024));
+        // Filtering/sorting 50k rows allocates index arrays in the handler
+        UiTrace.setAllocationBudget(DataGridPage.class, new AllocationBudget(256 * 1024, 2 * 1024 * 1024));
+    }
+
+    @Override
+    protected void shutdown() {
+        // Not shutdownNow(): interrupting a flush would close its file channel
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                getLogger().at(Level.WARNING).log("Scheduler did not stop within 5 seconds");
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        clusterStats.close();
+        pageSessions.close();
+        asyncExecutor.shutdown();
     }
 }
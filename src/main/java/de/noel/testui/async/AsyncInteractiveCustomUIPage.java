@@ -0,0 +1,178 @@
+package de.noel.testui.async;
+
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
+import com.hypixel.hytale.protocol.packets.interface_.Page;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCustomUIPage;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import de.noel.testui.TestUIPlugin;
+import de.noel.testui.diagnostics.UiTrace;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.logging.Level;
+
+/**
+ * AsyncInteractiveCustomUIPage - An interactive page whose event handler may be slow.
+ *
+ * handleDataEvent() is called on the world thread, so anything slow in it
+ * (database lookups, web hooks, ...) stalls the whole world. Pages extending
+ * this class implement {@link #handleDataEventAsync} instead:
+ *
+ *   1. It returns a CompletionStage - slow work goes into {@link #supplyAsync},
+ *      which runs on a bounded virtual-thread executor
+ *   2. The stage completes with a {@link PageAction}: what to do with the UI
+ *      (update it, close it, or nothing)
+ *   3. The action is handed back to the player's world and runs on its thread,
+ *      where it is safe to use the store and send updates
+ *   4. If the page was closed or replaced meanwhile, the result is dropped
+ *
+ * Decoding, the synchronous part of the handler and dismissing are recorded
+ * as Flight Recorder events (see {@link UiTrace}).
+ *
+ * Subclasses that override onDismiss() must call super.onDismiss().
+ */
+public abstract class AsyncInteractiveCustomUIPage<T> extends InteractiveCustomUIPage<T> {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    // Set once the page is gone; results arriving afterwards are discarded
+    private volatile boolean closed;
+
+    // Decode span of the event being dispatched - world thread only
+    private UiTrace.Span decoding;
+
+    /**
+     * UI work to run on the world thread once the async handler finished.
+     */
+    @FunctionalInterface
+    public interface PageAction {
+        void apply(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store);
+    }
+
+    protected AsyncInteractiveCustomUIPage(
+        @Nonnull PlayerRef playerRef,
+        @Nonnull CustomPageLifetime lifetime,
+        @Nonnull BuilderCodec<T> eventDataCodec
+    ) {
+        super(playerRef, lifetime, eventDataCodec);
+    }
+
+    /**
+     * Handle an event without blocking the world thread.
+     *
+     * Called on the world thread - keep the synchronous part cheap and move
+     * slow work into {@link #supplyAsync}.
+     *
+     * @return Stage completing with the UI action to apply, or with null for none
+     */
+    @Nonnull
+    protected abstract CompletionStage<PageAction> handleDataEventAsync(@Nonnull T data);
+
+    /**
+     * Raw event data arrives here first; the base class decodes it and calls
+     * the typed handleDataEvent() below, which ends the decode span. If
+     * decoding throws, the span is ended here instead.
+     */
+    @Override
+    public void handleDataEvent(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store, @Nonnull String rawData) {
+        decoding = UiTrace.decode(this, playerRef);
+        try {
+            super.handleDataEvent(ref, store, rawData);
+        } finally {
+            if (decoding != null) {
+                decoding.close();
+                decoding = null;
+            }
+        }
+    }
+
+    @Override
+    public final void handleDataEvent(
+        @Nonnull Ref<EntityStore> ref,
+        @Nonnull Store<EntityStore> store,
+        @Nonnull T data
+    ) {
+        if (decoding != null) {
+            decoding.close();
+            decoding = null;
+        }
+        UiTrace.Span trace = UiTrace.handler(this, playerRef);
+
+        World world = store.getExternalData().getWorld();
+
+        CompletionStage<PageAction> stage;
+        try {
+            stage = handleDataEventAsync(data);
+        } catch (RuntimeException e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+
+        stage.whenComplete((action, error) -> {
+            if (error != null) {
+                LOGGER.at(Level.WARNING).withCause(error).log("Async handler of %s failed", getClass().getSimpleName());
+                return;
+            }
+            if (action == null || closed) {
+                return;
+            }
+            // Back to the world thread - the store must not be touched anywhere else
+            world.execute(() -> {
+                if (isCurrentPage(ref, store)) {
+                    action.apply(ref, store);
+                }
+            });
+        });
+        trace.close();
+    }
+
+    @Override
+    public void onDismiss(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store) {
+        closed = true;
+        UiTrace.close(this, playerRef);
+    }
+
+    /**
+     * Run slow work on the shared virtual-thread executor.
+     */
+    protected static <R> CompletableFuture<R> supplyAsync(@Nonnull Callable<R> task) {
+        return TestUIPlugin.get().getAsyncExecutor().submit(task);
+    }
+
+    /**
+     * Finish without touching the UI.
+     */
+    protected static CompletionStage<PageAction> done(@Nullable PageAction action) {
+        return CompletableFuture.completedFuture(action);
+    }
+
+    /**
+     * Action that closes this page.
+     */
+    protected PageAction close() {
+        return (ref, store) -> {
+            closed = true;
+            Player player = store.getComponent(ref, Player.getComponentType());
+            player.getPageManager().setPage(ref, store, Page.None);
+        };
+    }
+
+    /**
+     * Still open and still the player's current page? Runs on the world thread.
+     */
+    private boolean isCurrentPage(Ref<EntityStore> ref, Store<EntityStore> store) {
+        if (closed || !ref.isValid()) {
+            return false;
+        }
+        Player player = store.getComponent(ref, Player.getComponentType());
+        return player != null && player.getPageManager().getCustomPage() == this;
+    }
+}
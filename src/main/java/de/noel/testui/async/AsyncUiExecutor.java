@@ -0,0 +1,76 @@
+package de.noel.testui.async;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AsyncUiExecutor - Runs slow UI handler work on virtual threads.
+ *
+ * Virtual threads are cheap, but the things they wait on (a database, a web
+ * service) are not. So the executor is bounded twice:
+ *
+ *   - maxConcurrent: at most this many tasks run at the same time; the rest
+ *                    wait (blocking a virtual thread costs almost nothing)
+ *   - maxPending:    tasks beyond this are rejected right away instead of
+ *                    piling up; the returned future fails with a
+ *                    RejectedExecutionException
+ */
+public class AsyncUiExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore running;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final int maxPending;
+
+    public AsyncUiExecutor(int maxConcurrent, int maxPending) {
+        this.running = new Semaphore(maxConcurrent);
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Run a task and complete the returned future with its result.
+     */
+    public <R> CompletableFuture<R> submit(@Nonnull Callable<R> task) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            result.completeExceptionally(new RejectedExecutionException("Too many pending UI tasks"));
+            return result;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    running.acquire();
+                    try {
+                        result.complete(task.call());
+                    } finally {
+                        running.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    result.completeExceptionally(e);
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Executor already shut down
+            pending.decrementAndGet();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,57 @@
+package de.noel.testui.bindings;
+
+import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
+import com.hypixel.hytale.server.core.ui.builder.EventData;
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binding - An event binding as a comparable value.
+ *
+ * UIEventBuilder and EventData can only be written, not compared, so the
+ * {@link BindingRegistry} works with these instead and turns them into real
+ * bindings only when they have to be sent.
+ *
+ * @param type           Event type (Activating, ValueChanged, ...)
+ * @param selector       Element the binding is attached to
+ * @param data           EventData as flat (key, value) pairs
+ * @param locksInterface Whether the client waits for the server while handling the event
+ */
+public record Binding(
+    @Nonnull CustomUIEventBindingType type,
+    @Nonnull String selector,
+    @Nonnull List<String> data,
+    boolean locksInterface
+) {
+
+    public static Binding activating(@Nonnull String selector) {
+        return new Binding(CustomUIEventBindingType.Activating, selector, List.of(), true);
+    }
+
+    /**
+     * Value changes never lock the interface - typing must not wait for the server.
+     */
+    public static Binding valueChanged(@Nonnull String selector) {
+        return new Binding(CustomUIEventBindingType.ValueChanged, selector, List.of(), false);
+    }
+
+    /**
+     * Copy with one more EventData entry, e.g. with("Action", "Sort") or with("@Filter", "#FilterInput.Value").
+     */
+    public Binding with(@Nonnull String key, @Nonnull String value) {
+        List<String> pairs = new ArrayList<>(data.size() + 2);
+        pairs.addAll(data);
+        pairs.add(key);
+        pairs.add(value);
+        return new Binding(type, selector, List.copyOf(pairs), locksInterface);
+    }
+
+    EventData toEventData(@Nonnull String id) {
+        EventData eventData = new EventData();
+        for (int i = 0; i < data.size(); i += 2) {
+            eventData.append(data.get(i), data.get(i + 1));
+        }
+        return eventData.append(BindingRegistry.ID_KEY, id);
+    }
+}
@@ -0,0 +1,133 @@
+package de.noel.testui.bindings;
+
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * BindingRegistry - Remembers which event bindings the client already has.
+ *
+ * One registry per open page. Instead of calling addEventBinding() for
+ * everything on every change, the page describes the bindings it wants
+ * ({@link #sync}) and the registry only sends what is new or different:
+ *
+ *   1. Same type + selector + data as before  ->  nothing is sent
+ *   2. New or changed binding                 ->  sent with a fresh id
+ *   3. Binding no longer wanted               ->  nothing is sent, its id is dropped
+ *
+ * The client has no way to remove a binding, so every binding carries its id
+ * in the EventData ("Binding") and the page drops events whose id is no longer
+ * live ({@link #accept}). Replaced and removed bindings may still fire on the
+ * client - the server just ignores them.
+ *
+ * Bindings are grouped (e.g. "buttons", "rows") so each part of a page can be
+ * synced on its own. Only used on the world thread.
+ */
+public final class BindingRegistry {
+
+    /** EventData key carrying the binding id - add it to the page's codec. */
+    public static final String ID_KEY = "Binding";
+
+    private record Sent(String group, Binding binding, String id) {
+    }
+
+    // Bindings on the client, by type + selector
+    private final Map<String, Sent> sent = new HashMap<>();
+    private final Set<String> live = new HashSet<>();
+    private long nextId;
+
+    // Totals, to see how much diffing saves
+    private long added;
+    private long skipped;
+
+    /**
+     * A full build() starts with no bindings on the client.
+     */
+    public void reset() {
+        sent.clear();
+        live.clear();
+    }
+
+    /**
+     * Make the bindings of {@code group} match {@code desired}.
+     *
+     * @return Number of bindings written to {@code eventBuilder}
+     */
+    public int sync(@Nonnull UIEventBuilder eventBuilder, @Nonnull String group, @Nonnull Collection<Binding> desired) {
+        Set<String> wanted = new HashSet<>();
+        int count = 0;
+
+        for (Binding binding : desired) {
+            String key = key(binding);
+            wanted.add(key);
+
+            Sent previous = sent.get(key);
+            if (previous != null && previous.binding().equals(binding)) {
+                skipped++;
+                continue;
+            }
+            if (previous != null) {
+                live.remove(previous.id());
+            }
+
+            String id = Long.toString(nextId++, 36);
+            eventBuilder.addEventBinding(binding.type(), binding.selector(), binding.toEventData(id), binding.locksInterface());
+            sent.put(key, new Sent(group, binding, id));
+            live.add(id);
+            count++;
+        }
+        added += count;
+
+        // Everything else in this group is no longer wanted
+        Iterator<Map.Entry<String, Sent>> iterator = sent.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Sent> entry = iterator.next();
+            if (entry.getValue().group().equals(group) && !wanted.contains(entry.getKey())) {
+                live.remove(entry.getValue().id());
+                iterator.remove();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The elements of {@code group} were removed on the client (e.g. their
+     * container was cleared). Their bindings are dropped, so the next
+     * {@link #sync} of the group sends them again.
+     */
+    public void forget(@Nonnull String group) {
+        Iterator<Sent> iterator = sent.values().iterator();
+        while (iterator.hasNext()) {
+            Sent entry = iterator.next();
+            if (entry.group().equals(group)) {
+                live.remove(entry.id());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Is this event from a binding that is still current?
+     */
+    public boolean accept(@Nullable String id) {
+        return id != null && live.contains(id);
+    }
+
+    public long getAdded() {
+        return added;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    private static String key(Binding binding) {
+        return binding.type() + " " + binding.selector();
+    }
+}
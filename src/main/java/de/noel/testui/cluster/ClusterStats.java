@@ -0,0 +1,47 @@
+package de.noel.testui.cluster;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * ClusterStats - Totals of all known nodes, merged by {@link ClusterStatsView}.
+ *
+ * Stale nodes (no snapshot for a few intervals) still count with their last
+ * known values - a node in a long GC pause has not lost its players - but
+ * are reported in {@link #staleNodes()}. Nodes silent for much longer are
+ * dropped entirely.
+ *
+ * @param computedAt   When the merge was done (epoch millis), 0 if never
+ * @param players      Players on all nodes
+ * @param entities     Entities on all nodes
+ * @param maxLagMicros Highest world queue latency on any node
+ * @param staleNodes   Nodes whose last snapshot is overdue
+ * @param nodes        Per-node breakdown, this node first
+ */
+public record ClusterStats(
+    long computedAt,
+    int players,
+    int entities,
+    long maxLagMicros,
+    int staleNodes,
+    @Nonnull List<Node> nodes
+) {
+
+    /** Placeholder until this node published its first snapshot. */
+    public static final ClusterStats EMPTY = new ClusterStats(0, 0, 0, 0, 0, List.of());
+
+    /**
+     * One node as seen by this one.
+     *
+     * @param snapshot   Its latest snapshot
+     * @param receivedAt When that snapshot arrived (this node's clock)
+     * @param local      Whether it is this node
+     * @param stale      Whether the next snapshot is overdue
+     */
+    public record Node(@Nonnull NodeSnapshot snapshot, long receivedAt, boolean local, boolean stale) {
+    }
+
+    public int nodeCount() {
+        return nodes.size();
+    }
+}
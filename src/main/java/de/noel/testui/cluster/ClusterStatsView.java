@@ -0,0 +1,247 @@
+package de.noel.testui.cluster;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import de.noel.testui.stats.NetworkStats;
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * ClusterStatsView - Network-wide stats, merged from every node's snapshot.
+ *
+ * Each node runs one view. Every interval it:
+ *
+ *   1. Turns the local {@link NetworkStats} into a {@link NodeSnapshot}
+ *   2. Publishes the encoded snapshot through its {@link StatsTransport}
+ *   3. Re-merges everything it knows into one {@link ClusterStats}
+ *
+ * Snapshots of other nodes are merged as they arrive. Staleness uses the
+ * time a snapshot was received (this node's clock), so clock differences
+ * between nodes don't matter:
+ *
+ *   - older than 3 intervals   the node is reported as stale
+ *   - older than 12 intervals  the node is dropped
+ *
+ * Readers such as /info only read the cached merge - they never wait for
+ * the network.
+ *
+ * Configuration (system properties):
+ *   - testui.cluster.node=lobby-1          name of this node (default: random)
+ *   - testui.cluster.port=25701            exchange over UDP on this port (default: no cluster)
+ *   - testui.cluster.bind=127.0.0.1        address to bind the port on
+ *   - testui.cluster.peers=host:port,...   the other nodes
+ *
+ * Invalid values are logged and replaced by the defaults, so a typo leaves
+ * the server running as a cluster of one instead of failing to load.
+ */
+public class ClusterStatsView {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    private static final String PROPERTY_PREFIX = "testui.cluster.";
+
+    private static final int STALE_INTERVALS = 3;
+    private static final int EXPIRE_INTERVALS = 12;
+
+    private record Entry(NodeSnapshot snapshot, long receivedAt) {
+    }
+
+    private final String nodeId;
+    private final StatsTransport transport;
+    private final Supplier<NetworkStats> localStats;
+    private final long intervalMillis;
+
+    // Epoch millis - the system clock, or a controlled one in tests
+    private final LongSupplier clock;
+
+    // Latest snapshot per node, guarded by this
+    private final Map<String, Entry> nodes = new HashMap<>();
+    private volatile ClusterStats merged = ClusterStats.EMPTY;
+
+    public ClusterStatsView(
+        @Nonnull String nodeId,
+        @Nonnull StatsTransport transport,
+        @Nonnull Supplier<NetworkStats> localStats,
+        long intervalMillis
+    ) {
+        this(nodeId, transport, localStats, intervalMillis, System::currentTimeMillis);
+    }
+
+    public ClusterStatsView(
+        @Nonnull String nodeId,
+        @Nonnull StatsTransport transport,
+        @Nonnull Supplier<NetworkStats> localStats,
+        long intervalMillis,
+        @Nonnull LongSupplier clock
+    ) {
+        this.nodeId = nodeId;
+        this.transport = transport;
+        this.localStats = localStats;
+        this.intervalMillis = intervalMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * A view configured from the testui.cluster.* system properties.
+     * Without a port the node forms a cluster of one.
+     */
+    @Nonnull
+    public static ClusterStatsView fromSystemProperties(@Nonnull Supplier<NetworkStats> localStats, long intervalMillis) {
+        String randomId = "node-" + UUID.randomUUID().toString().substring(0, 8);
+        String nodeId = System.getProperty(PROPERTY_PREFIX + "node", randomId);
+        if (nodeId.isEmpty() || nodeId.length() > NodeSnapshot.MAX_NODE_ID_LENGTH) {
+            LOGGER.at(Level.WARNING).log("Invalid %snode '%s' (1-%d chars) - using %s",
+                PROPERTY_PREFIX, nodeId, NodeSnapshot.MAX_NODE_ID_LENGTH, randomId);
+            nodeId = randomId;
+        }
+        return new ClusterStatsView(nodeId, transportFromSystemProperties(), localStats, intervalMillis);
+    }
+
+    /**
+     * UDP if a valid port and peers are configured, otherwise a cluster of one.
+     */
+    private static StatsTransport transportFromSystemProperties() {
+        String port = System.getProperty(PROPERTY_PREFIX + "port");
+        if (port == null) {
+            return new LocalStatsTransport.Hub().join();
+        }
+        try {
+            InetSocketAddress bind = new InetSocketAddress(
+                System.getProperty(PROPERTY_PREFIX + "bind", "127.0.0.1"), Integer.parseInt(port.trim()));
+            List<InetSocketAddress> peers = UdpStatsTransport.parsePeers(System.getProperty(PROPERTY_PREFIX + "peers", ""));
+            if (peers.isEmpty()) {
+                LOGGER.at(Level.WARNING).log("%sport is set but %speers is empty - nothing will be exchanged",
+                    PROPERTY_PREFIX, PROPERTY_PREFIX);
+            }
+            return new UdpStatsTransport(bind, peers);
+        } catch (IllegalArgumentException e) {
+            // Also covers NumberFormatException and ports out of range
+            LOGGER.at(Level.WARNING).withCause(e).log("Invalid cluster configuration - showing this server only");
+            return new LocalStatsTransport.Hub().join();
+        }
+    }
+
+    public void start(@Nonnull ScheduledExecutorService scheduler) {
+        try {
+            transport.start(this::receive);
+        } catch (IOException e) {
+            // Keep publishing locally - the view then only shows this node
+            LOGGER.at(Level.WARNING).withCause(e).log("Could not start cluster stats transport");
+        }
+        scheduler.scheduleWithFixedDelay(this::publish, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void close() {
+        transport.close();
+    }
+
+    @Nonnull
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * The latest merge. Never blocks.
+     */
+    @Nonnull
+    public ClusterStats getSnapshot() {
+        return merged;
+    }
+
+    /**
+     * Publish this node's snapshot and re-merge. Runs on the scheduler thread.
+     */
+    public void publish() {
+        long now = clock.getAsLong();
+        NodeSnapshot snapshot = NodeSnapshot.of(nodeId, localStats.get(), now);
+        synchronized (this) {
+            nodes.put(nodeId, new Entry(snapshot, now));
+            merge(now);
+        }
+        try {
+            transport.publish(snapshot.encode());
+        } catch (IOException | RuntimeException e) {
+            // Must not escape: an exception would cancel the scheduled publish
+            LOGGER.at(Level.FINE).withCause(e).log("Publishing cluster stats failed");
+        }
+    }
+
+    /**
+     * A snapshot from another node. May be called from any thread.
+     */
+    public void receive(@Nonnull byte[] payload) {
+        NodeSnapshot snapshot;
+        try {
+            snapshot = NodeSnapshot.decode(payload, 0, payload.length);
+        } catch (IllegalArgumentException e) {
+            LOGGER.at(Level.FINE).withCause(e).log("Dropped invalid cluster stats");
+            return;
+        }
+        if (snapshot.nodeId().equals(nodeId)) {
+            LOGGER.at(Level.WARNING).log("Another node uses the id %s", nodeId);
+            return;
+        }
+
+        long now = clock.getAsLong();
+        synchronized (this) {
+            Entry previous = nodes.get(snapshot.nodeId());
+            // Datagrams can arrive out of order
+            if (previous != null && previous.snapshot().publishedAt() > snapshot.publishedAt()) {
+                return;
+            }
+            nodes.put(snapshot.nodeId(), new Entry(snapshot, now));
+            merge(now);
+        }
+    }
+
+    /**
+     * Drop expired nodes and rebuild the cached totals. Caller holds the lock.
+     */
+    private void merge(long now) {
+        long staleAfter = STALE_INTERVALS * intervalMillis;
+        long expireAfter = EXPIRE_INTERVALS * intervalMillis;
+
+        List<ClusterStats.Node> result = new ArrayList<>(nodes.size());
+        int players = 0;
+        int entities = 0;
+        long maxLag = 0;
+        int stale = 0;
+
+        Iterator<Entry> iterator = nodes.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            long age = now - entry.receivedAt();
+            if (age > expireAfter) {
+                iterator.remove();
+                continue;
+            }
+            NodeSnapshot snapshot = entry.snapshot();
+            boolean local = snapshot.nodeId().equals(nodeId);
+            boolean overdue = age > staleAfter;
+            ClusterStats.Node node = new ClusterStats.Node(snapshot, entry.receivedAt(), local, overdue);
+            if (local) {
+                result.add(0, node);
+            } else {
+                result.add(node);
+            }
+            players += snapshot.players();
+            entities += snapshot.entities();
+            maxLag = Math.max(maxLag, snapshot.maxLagMicros());
+            if (overdue) {
+                stale++;
+            }
+        }
+        merged = new ClusterStats(now, players, entities, maxLag, stale, List.copyOf(result));
+    }
+}
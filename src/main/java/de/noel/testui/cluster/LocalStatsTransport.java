@@ -0,0 +1,63 @@
+package de.noel.testui.cluster;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * LocalStatsTransport - Nodes in the same JVM, connected through a {@link Hub}.
+ *
+ * Delivery is synchronous on the publishing thread. Used when no cluster is
+ * configured (a hub with one member) and to run several views side by side
+ * in tests.
+ */
+public final class LocalStatsTransport implements StatsTransport {
+
+    /**
+     * Connects the transports that joined it.
+     */
+    public static final class Hub {
+        private final List<LocalStatsTransport> members = new CopyOnWriteArrayList<>();
+
+        @Nonnull
+        public LocalStatsTransport join() {
+            LocalStatsTransport transport = new LocalStatsTransport(this);
+            members.add(transport);
+            return transport;
+        }
+    }
+
+    private final Hub hub;
+    private volatile Consumer<byte[]> receiver;
+
+    private LocalStatsTransport(Hub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void start(@Nonnull Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void publish(@Nonnull byte[] payload) {
+        if (!hub.members.contains(this)) {
+            // Closed - like a node that went away
+            return;
+        }
+        for (LocalStatsTransport member : hub.members) {
+            Consumer<byte[]> target = member.receiver;
+            if (member != this && target != null) {
+                // Copy, like a real network would - receivers must not share the array
+                target.accept(payload.clone());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        hub.members.remove(this);
+        receiver = null;
+    }
+}
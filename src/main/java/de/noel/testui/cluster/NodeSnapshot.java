@@ -0,0 +1,91 @@
+package de.noel.testui.cluster;
+
+import de.noel.testui.stats.NetworkStats;
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * NodeSnapshot - Totals of one server node, as exchanged between nodes.
+ *
+ * Only totals travel - no world names, no player lists - so a snapshot
+ * encodes to {@link #FIXED_BYTES} plus the node id's length: 44 bytes with
+ * the default "node-xxxxxxxx" id, and at most 223 with the longest id (3
+ * bytes per char). It fits any datagram.
+ *
+ * @param nodeId       Name of the node (unique in the cluster)
+ * @param publishedAt  When the node sent it (node's clock) - newer replaces older
+ * @param players      Players on the node
+ * @param entities     Entities on the node
+ * @param worlds       Worlds on the node
+ * @param maxLagMicros Highest world queue latency on the node
+ */
+public record NodeSnapshot(
+    @Nonnull String nodeId,
+    long publishedAt,
+    int players,
+    int entities,
+    int worlds,
+    long maxLagMicros
+) {
+
+    private static final byte VERSION = 1;
+
+    /** Encoded size without the node id: version, id length, publishedAt, 3 counts, lag. */
+    public static final int FIXED_BYTES = 1 + 2 + 8 + 3 * 4 + 8;
+
+    /** Longer node ids are rejected, so a datagram can't make us allocate much. */
+    public static final int MAX_NODE_ID_LENGTH = 64;
+
+    public static NodeSnapshot of(@Nonnull String nodeId, @Nonnull NetworkStats stats, long publishedAt) {
+        return new NodeSnapshot(nodeId, publishedAt, stats.players(), stats.entities(), stats.worlds().size(), stats.maxLagMicros());
+    }
+
+    @Nonnull
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(FIXED_BYTES + nodeId.length());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(nodeId);
+            out.writeLong(publishedAt);
+            out.writeInt(players);
+            out.writeInt(entities);
+            out.writeInt(worlds);
+            out.writeLong(maxLagMicros);
+        } catch (IOException e) {
+            // Cannot happen with an in-memory stream
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException If the data is not a valid snapshot
+     */
+    @Nonnull
+    public static NodeSnapshot decode(@Nonnull byte[] data, int offset, int length) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot version " + version);
+            }
+            String nodeId = in.readUTF();
+            if (nodeId.isEmpty() || nodeId.length() > MAX_NODE_ID_LENGTH) {
+                throw new IllegalArgumentException("Invalid node id");
+            }
+            NodeSnapshot snapshot = new NodeSnapshot(nodeId, in.readLong(), in.readInt(), in.readInt(), in.readInt(), in.readLong());
+            if (snapshot.players < 0 || snapshot.entities < 0 || snapshot.worlds < 0) {
+                throw new IllegalArgumentException("Negative counts in snapshot of " + nodeId);
+            }
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("Trailing bytes after snapshot of " + nodeId);
+            }
+            return snapshot;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package de.noel.testui.cluster;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * StatsTransport - Moves encoded {@link NodeSnapshot}s between nodes.
+ *
+ * Implementations only move bytes; decoding, merging and staleness are
+ * handled by {@link ClusterStatsView}. Delivery is best effort - a lost
+ * snapshot is simply replaced by the next one.
+ *
+ * Shipped implementations:
+ *   - {@link LocalStatsTransport}  in-process, for tests and single-node setups
+ *   - {@link UdpStatsTransport}    datagrams to a fixed list of peers
+ */
+public interface StatsTransport extends AutoCloseable {
+
+    /**
+     * Start receiving. The receiver may be called from any thread.
+     */
+    void start(@Nonnull Consumer<byte[]> receiver) throws IOException;
+
+    /**
+     * Send a snapshot to all peers (not back to this node).
+     */
+    void publish(@Nonnull byte[] payload) throws IOException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,134 @@
+package de.noel.testui.cluster;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * UdpStatsTransport - One datagram per snapshot, sent to a fixed list of peers.
+ *
+ * Every node binds its own port and lists the others:
+ *
+ *   node a:  bind 127.0.0.1:25701, peers 127.0.0.1:25702
+ *   node b:  bind 127.0.0.1:25702, peers 127.0.0.1:25701
+ *
+ * Datagrams from addresses that are not in the peer list are dropped, so
+ * only configured nodes can feed the view. A lost datagram is harmless -
+ * the next snapshot follows one interval later.
+ */
+public final class UdpStatsTransport implements StatsTransport {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    /**
+     * Snapshots are at most 223 bytes (see NodeSnapshot). A datagram that fills
+     * the whole buffer may have been cut off, so it is dropped.
+     */
+    private static final int MAX_DATAGRAM = 512;
+
+    private final InetSocketAddress bindAddress;
+    private final List<InetSocketAddress> peers;
+    private final Set<InetSocketAddress> allowed;
+
+    private DatagramSocket socket;
+    private Thread receiver;
+
+    public UdpStatsTransport(@Nonnull InetSocketAddress bindAddress, @Nonnull List<InetSocketAddress> peers) {
+        this.bindAddress = bindAddress;
+        this.peers = List.copyOf(peers);
+        this.allowed = Set.copyOf(peers);
+    }
+
+    /**
+     * Parse "host:port,host:port".
+     */
+    @Nonnull
+    public static List<InetSocketAddress> parsePeers(@Nonnull String peers) {
+        return Arrays.stream(peers.split(","))
+            .map(String::trim)
+            .filter(peer -> !peer.isEmpty())
+            .map(peer -> {
+                int colon = peer.lastIndexOf(':');
+                if (colon <= 0) {
+                    throw new IllegalArgumentException("Peer without port: " + peer);
+                }
+                return new InetSocketAddress(peer.substring(0, colon), Integer.parseInt(peer.substring(colon + 1)));
+            })
+            .toList();
+    }
+
+    @Override
+    public synchronized void start(@Nonnull Consumer<byte[]> receiver) throws IOException {
+        if (socket != null) {
+            throw new IllegalStateException("Already started");
+        }
+        socket = new DatagramSocket(bindAddress);
+
+        DatagramSocket listening = socket;
+        this.receiver = new Thread(() -> receive(listening, receiver), "TestUIPlugin-ClusterStats");
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+    }
+
+    @Override
+    public void publish(@Nonnull byte[] payload) throws IOException {
+        DatagramSocket target = socket;
+        if (target == null) {
+            throw new IOException("Transport not started");
+        }
+        // One unreachable peer must not keep the others from getting the snapshot
+        IOException failure = null;
+        for (InetSocketAddress peer : peers) {
+            try {
+                target.send(new DatagramPacket(payload, payload.length, peer));
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (socket != null) {
+            // Unblocks receive() - the thread ends with a SocketException
+            socket.close();
+            socket = null;
+        }
+    }
+
+    private void receive(DatagramSocket listening, Consumer<byte[]> consumer) {
+        byte[] buffer = new byte[MAX_DATAGRAM];
+        while (!listening.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                listening.receive(packet);
+            } catch (SocketException e) {
+                return;
+            } catch (IOException e) {
+                LOGGER.at(Level.FINE).withCause(e).log("Receiving cluster stats failed");
+                continue;
+            }
+            if (!allowed.contains((InetSocketAddress) packet.getSocketAddress()) || packet.getLength() >= buffer.length) {
+                continue;
+            }
+            try {
+                consumer.accept(Arrays.copyOfRange(packet.getData(), packet.getOffset(), packet.getOffset() + packet.getLength()));
+            } catch (RuntimeException e) {
+                // Must not end the thread
+                LOGGER.at(Level.WARNING).withCause(e).log("Handling cluster stats failed");
+            }
+        }
+    }
+}
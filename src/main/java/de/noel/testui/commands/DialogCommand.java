@@ -1,5 +1,8 @@
 package de.noel.testui.commands;
 
+import de.noel.testui.TestUIPlugin;
+import de.noel.testui.diagnostics.UiTrace;
+import de.noel.testui.i18n.Localization;
 import de.noel.testui.pages.StyledDialogPage;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
@@ -26,11 +29,12 @@ public class DialogCommand extends AbstractPlayerCommand {
         @Nonnull World world
     ) {
         Player player = (Player) store.getComponent(ref, Player.getComponentType());
+        Localization localization = TestUIPlugin.get().getLocalization();
         StyledDialogPage page = new StyledDialogPage(
             playerRef,
-            "Plugin Demo",
-            "This dialog uses Common.ui styling with decorated containers!"
+            localization.text(playerRef, "dialog.headline"),
+            localization.text(playerRef, "dialog.message")
         );
-        player.getPageManager().openCustomPage(ref, store, page);
+        UiTrace.open(player, ref, store, playerRef, page);
     }
 }
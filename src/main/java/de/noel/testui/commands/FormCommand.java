@@ -1,5 +1,7 @@
 package de.noel.testui.commands;
 
+import de.noel.testui.TestUIPlugin;
+import de.noel.testui.diagnostics.UiTrace;
 import de.noel.testui.pages.FormPage;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
@@ -26,7 +28,7 @@ public class FormCommand extends AbstractPlayerCommand {
         @Nonnull World world
     ) {
         Player player = (Player) store.getComponent(ref, Player.getComponentType());
-        FormPage page = new FormPage(playerRef);
-        player.getPageManager().openCustomPage(ref, store, page);
+        FormPage page = new FormPage(playerRef, TestUIPlugin.get().getFormDrafts());
+        UiTrace.open(player, ref, store, playerRef, page);
     }
 }
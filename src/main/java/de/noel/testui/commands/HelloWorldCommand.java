@@ -9,6 +9,7 @@ import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import de.noel.testui.diagnostics.UiTrace;
 import de.noel.testui.pages.HelloWorldPage;
 
 import javax.annotation.Nonnull;
@@ -30,6 +31,6 @@ public class HelloWorldCommand extends AbstractPlayerCommand {
         Player player = store.getComponent(ref, Player.getComponentType());
         HelloWorldPage page = new HelloWorldPage(playerRef, CustomPageLifetime.CanDismissOrCloseThroughInteraction, "Test Test");
         assert player != null;
-        player.getPageManager().openCustomPage(ref, store, page);
+        UiTrace.open(player, ref, store, playerRef, page);
     }
 }
@@ -1,5 +1,7 @@
 package de.noel.testui.commands;
 
+import de.noel.testui.TestUIPlugin;
+import de.noel.testui.diagnostics.UiTrace;
 import de.noel.testui.pages.InfoPanelPage;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
@@ -10,12 +12,9 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import javax.annotation.Nonnull;
-import java.util.Random;
 
 public class InfoCommand extends AbstractPlayerCommand {
 
-    private final Random random = new Random();
-
     public InfoCommand() {
         super("info", "Opens an info panel");
     }
@@ -30,12 +29,11 @@ public class InfoCommand extends AbstractPlayerCommand {
     ) {
         Player player = (Player) store.getComponent(ref, Player.getComponentType());
 
-        // Generate some demo stats
-        int players = 100 + random.nextInt(2000);
-        int quests = 10 + random.nextInt(50);
-        String uptime = (95 + random.nextInt(5)) + "%";
-
-        InfoPanelPage page = new InfoPanelPage(playerRef, players, quests, uptime);
-        player.getPageManager().openCustomPage(ref, store, page);
+        // Network-wide stats are sampled in the background on each world's
+        // own thread and merged with the other servers' - here we only pick
+        // up the latest snapshots
+        TestUIPlugin plugin = TestUIPlugin.get();
+        InfoPanelPage page = new InfoPanelPage(playerRef, plugin.getWorldStats().getSnapshot(), plugin.getClusterStats().getSnapshot());
+        UiTrace.open(player, ref, store, playerRef, page);
     }
 }
@@ -1,5 +1,7 @@
 package de.noel.testui.commands;
 
+import de.noel.testui.TestUIPlugin;
+import de.noel.testui.diagnostics.UiTrace;
 import de.noel.testui.pages.TestPage;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
@@ -26,7 +28,7 @@ public class TestUICommand extends AbstractPlayerCommand {
         @Nonnull World world
     ) {
         Player player = (Player) store.getComponent(ref, Player.getComponentType());
-        TestPage page = new TestPage(playerRef, "Custom UI works!");
-        player.getPageManager().openCustomPage(ref, store, page);
+        TestPage page = new TestPage(playerRef, TestUIPlugin.get().getLocalization().text(playerRef, "testui.message"));
+        UiTrace.open(player, ref, store, playerRef, page);
     }
 }
@@ -0,0 +1,27 @@
+package de.noel.testui.diagnostics;
+
+import javax.annotation.Nonnull;
+
+/**
+ * AllocationBudget - Maximum heap allocation of one build() or event handler of a page.
+ *
+ * Can be overridden without recompiling, e.g.
+ *   -Dtestui.alloc.budget.FormPage=65536,16384   (build bytes, handler bytes)
+ *
+ * @param maxBuildBytes   Bytes a single build() may allocate
+ * @param maxHandlerBytes Bytes a single event handler may allocate (on the world thread)
+ */
+public record AllocationBudget(long maxBuildBytes, long maxHandlerBytes) {
+
+    public static final AllocationBudget UNLIMITED = new AllocationBudget(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    /**
+     * Parse "build" or "build,handler".
+     */
+    static AllocationBudget parse(@Nonnull String value) {
+        String[] parts = value.split(",");
+        long build = Long.parseLong(parts[0].trim());
+        long handler = parts.length > 1 ? Long.parseLong(parts[1].trim()) : Long.MAX_VALUE;
+        return new AllocationBudget(build, handler);
+    }
+}
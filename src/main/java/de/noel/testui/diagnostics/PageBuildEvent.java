@@ -0,0 +1,22 @@
+package de.noel.testui.diagnostics;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("de.noel.testui.PageBuild")
+@Label("Page Build")
+@Description("A full build() of a page")
+class PageBuildEvent extends PageEvent {
+
+    @Label("Commands")
+    int commands;
+
+    @Label("Bindings")
+    int bindings;
+
+    @Label("Payload")
+    @DataAmount
+    int payloadBytes;
+}
@@ -0,0 +1,11 @@
+package de.noel.testui.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("de.noel.testui.PageClose")
+@Label("Page Close")
+@Description("A page was dismissed")
+class PageCloseEvent extends PageEvent {
+}
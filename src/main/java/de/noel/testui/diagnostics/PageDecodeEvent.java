@@ -0,0 +1,11 @@
+package de.noel.testui.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("de.noel.testui.PageDecode")
+@Label("Page Event Decode")
+@Description("Decoding of a UI event's data")
+class PageDecodeEvent extends PageEvent {
+}
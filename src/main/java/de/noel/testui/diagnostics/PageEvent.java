@@ -0,0 +1,27 @@
+package de.noel.testui.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * PageEvent - Common fields of all TestUI Flight Recorder events.
+ *
+ * Shown under "TestUI / Pages" in JDK Mission Control, next to GC pauses
+ * and safepoints of the same recording.
+ */
+@Category({"TestUI", "Pages"})
+@StackTrace(false)
+abstract class PageEvent extends jdk.jfr.Event {
+
+    @Label("Page")
+    String page;
+
+    @Label("Player")
+    String player;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
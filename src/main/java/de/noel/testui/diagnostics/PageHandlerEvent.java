@@ -0,0 +1,11 @@
+package de.noel.testui.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("de.noel.testui.PageHandler")
+@Label("Page Event Handler")
+@Description("Handling of a UI event on the world thread")
+class PageHandlerEvent extends PageEvent {
+}
@@ -0,0 +1,11 @@
+package de.noel.testui.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("de.noel.testui.PageOpen")
+@Label("Page Open")
+@Description("A page was opened (includes its first build)")
+class PageOpenEvent extends PageEvent {
+}
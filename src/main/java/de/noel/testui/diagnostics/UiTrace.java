@@ -0,0 +1,200 @@
+package de.noel.testui.diagnostics;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.entity.entities.player.pages.CustomUIPage;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import de.noel.testui.payload.PayloadStats;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * UiTrace - Flight Recorder events and allocation budgets for page work.
+ *
+ * Every traced step becomes a JFR event carrying the page class, the
+ * player and the bytes allocated on the current thread:
+ *
+ *   - PageOpen     {@link #open} instead of PageManager.openCustomPage()
+ *   - PageBuild    {@link #build} at the start of build(), ended with the PayloadStats
+ *   - PageDecode   decoding of the event data (pages based on AsyncInteractiveCustomUIPage)
+ *   - PageHandler  the event handler on the world thread (for other pages: decode + handler)
+ *   - PageClose    {@link #close} from onDismiss()
+ *
+ * Record with -XX:StartFlightRecording and look for "TestUI" in JDK Mission
+ * Control to line page work up with GC pauses and long ticks.
+ *
+ * Builds and handlers are also checked against the page's
+ * {@link AllocationBudget}, measured exactly per thread (not sampled).
+ *
+ * Configuration (system properties):
+ *   - testui.alloc.strict=true       throw instead of logging a warning (for tests)
+ *   - testui.alloc.budget.PageName   override a budget ("build[,handler]")
+ */
+public final class UiTrace {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    private static final String PROPERTY_PREFIX = "testui.alloc.";
+
+    private static final Map<Class<?>, AllocationBudget> BUDGETS = new ConcurrentHashMap<>();
+
+    // Null if the JVM can't count allocated bytes per thread
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private enum Kind {
+        OTHER,
+        BUILD,
+        HANDLER
+    }
+
+    private UiTrace() {
+    }
+
+    /**
+     * Set the allocation budget for a page class. A system property override wins.
+     */
+    public static void setAllocationBudget(@Nonnull Class<?> pageClass, @Nonnull AllocationBudget budget) {
+        String override = System.getProperty(PROPERTY_PREFIX + "budget." + pageClass.getSimpleName());
+        BUDGETS.put(pageClass, override != null ? AllocationBudget.parse(override) : budget);
+    }
+
+    public static AllocationBudget getAllocationBudget(@Nonnull Class<?> pageClass) {
+        return BUDGETS.getOrDefault(pageClass, AllocationBudget.UNLIMITED);
+    }
+
+    /**
+     * Open a page and record it. The event includes the page's first build.
+     */
+    public static void open(
+        @Nonnull Player player,
+        @Nonnull Ref<EntityStore> ref,
+        @Nonnull Store<EntityStore> store,
+        @Nonnull PlayerRef playerRef,
+        @Nonnull CustomUIPage page
+    ) {
+        Span trace = new Span(new PageOpenEvent(), Kind.OTHER, page, playerRef);
+        try {
+            player.getPageManager().openCustomPage(ref, store, page);
+        } finally {
+            trace.close();
+        }
+    }
+
+    /**
+     * Start tracing build(). End with {@link Span#end(PayloadStats)}.
+     */
+    public static Span build(@Nonnull Object page, @Nonnull PlayerRef playerRef) {
+        return new Span(new PageBuildEvent(), Kind.BUILD, page, playerRef);
+    }
+
+    public static Span decode(@Nonnull Object page, @Nonnull PlayerRef playerRef) {
+        return new Span(new PageDecodeEvent(), Kind.OTHER, page, playerRef);
+    }
+
+    public static Span handler(@Nonnull Object page, @Nonnull PlayerRef playerRef) {
+        return new Span(new PageHandlerEvent(), Kind.HANDLER, page, playerRef);
+    }
+
+    /**
+     * Record that a page was dismissed.
+     */
+    public static void close(@Nonnull Object page, @Nonnull PlayerRef playerRef) {
+        PageCloseEvent event = new PageCloseEvent();
+        if (event.shouldCommit()) {
+            event.page = page.getClass().getSimpleName();
+            event.player = playerRef.getUuid().toString();
+            event.commit();
+        }
+    }
+
+    /**
+     * One traced step. Ending it commits the JFR event and checks the budget;
+     * ending it a second time does nothing.
+     */
+    public static final class Span implements AutoCloseable {
+
+        private final PageEvent event;
+        private final Kind kind;
+        private final Object page;
+        private final PlayerRef playerRef;
+        private final long allocatedAtStart;
+        private boolean ended;
+
+        private Span(PageEvent event, Kind kind, Object page, PlayerRef playerRef) {
+            this.event = event;
+            this.kind = kind;
+            this.page = page;
+            this.playerRef = playerRef;
+            // Read last, so creating the span itself is not counted
+            this.allocatedAtStart = allocatedBytes();
+            event.begin();
+        }
+
+        /**
+         * End a build span with the payload that was produced.
+         */
+        public void end(@Nullable PayloadStats stats) {
+            if (stats != null && event instanceof PageBuildEvent build) {
+                build.commands = stats.commands();
+                build.bindings = stats.bindings();
+                build.payloadBytes = stats.bytes();
+            }
+            close();
+        }
+
+        @Override
+        public void close() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            event.end();
+            long allocated = allocatedAtStart < 0 ? -1 : allocatedBytes() - allocatedAtStart;
+
+            if (event.shouldCommit()) {
+                event.page = page.getClass().getSimpleName();
+                event.player = playerRef.getUuid().toString();
+                event.allocatedBytes = allocated;
+                event.commit();
+            }
+            if (allocated >= 0 && kind != Kind.OTHER) {
+                check(page.getClass(), kind, allocated);
+            }
+        }
+    }
+
+    private static void check(Class<?> pageClass, Kind kind, long allocated) {
+        AllocationBudget budget = getAllocationBudget(pageClass);
+        long limit = kind == Kind.BUILD ? budget.maxBuildBytes() : budget.maxHandlerBytes();
+        if (allocated > limit) {
+            String message = pageClass.getSimpleName() + " " + (kind == Kind.BUILD ? "build" : "handler")
+                + " allocated " + allocated + " bytes (budget: " + limit + " bytes)";
+            if (Boolean.getBoolean(PROPERTY_PREFIX + "strict")) {
+                throw new IllegalStateException(message);
+            }
+            LOGGER.at(Level.WARNING).log(message);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean threads() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,185 @@
+package de.noel.testui.drafts;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * DraftCache - Keeps unsaved form input per player, with debouncing and TTL.
+ *
+ * Input pages send an event on every keystroke. Writing each one into the
+ * cache would be wasteful, so there are two stages:
+ *
+ *   1. stage():  Overwrites a single "pending" slot for the player. This is
+ *                all that happens per keystroke.
+ *   2. commit:   Once a player has stopped typing for the debounce delay
+ *                (or the page is closed), the pending draft is moved into
+ *                the cache.
+ *
+ * The cache itself is bounded: entries expire once they have not been used
+ * for the TTL, and once maxEntries is reached the least recently used draft
+ * is evicted. Because every use also renews the TTL, the access order of the
+ * cache is the expiry order - so expiring only ever looks at the eldest
+ * entries.
+ *
+ * Moving a draft from pending into the cache and discarding it both happen
+ * under the cache lock, so a commit that races with discard() can never
+ * bring a discarded draft back.
+ *
+ * @param <D> Draft type - should be a small immutable value (e.g. a record)
+ */
+public class DraftCache<D> {
+
+    /** How often pending drafts and expired entries are checked. */
+    private static final long SWEEP_INTERVAL_MS = 250;
+
+    private final long debounceNanos;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    // Monotonic nanos - System.nanoTime(), or a controlled one in tests
+    private final LongSupplier clock;
+
+    // Latest unsaved value per player, written on every change
+    private final Map<UUID, Pending<D>> pending = new ConcurrentHashMap<>();
+
+    // Committed drafts in access order (eldest = least recently used = expires first).
+    // Also guards the move out of pending.
+    private final LinkedHashMap<UUID, Entry<D>> drafts = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param debounceMillis Quiet time after the last change before a draft is committed
+     * @param ttlMillis      How long a committed draft is kept after its last use
+     * @param maxEntries     Maximum number of committed drafts
+     */
+    public DraftCache(long debounceMillis, long ttlMillis, int maxEntries) {
+        this(debounceMillis, ttlMillis, maxEntries, System::nanoTime);
+    }
+
+    DraftCache(long debounceMillis, long ttlMillis, int maxEntries, @Nonnull LongSupplier clock) {
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Start committing debounced drafts on the given scheduler.
+     */
+    public void start(@Nonnull ScheduledExecutorService scheduler) {
+        scheduler.scheduleWithFixedDelay(this::sweep, SWEEP_INTERVAL_MS, SWEEP_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record the latest input of a player. Cheap - call it on every change.
+     */
+    public void stage(@Nonnull UUID playerId, @Nonnull D draft) {
+        pending.put(playerId, new Pending<>(draft, clock.getAsLong()));
+    }
+
+    /**
+     * Commit the player's pending draft right away (e.g. when the page closes).
+     */
+    public void flush(@Nonnull UUID playerId) {
+        synchronized (drafts) {
+            Pending<D> latest = pending.remove(playerId);
+            if (latest != null) {
+                commit(playerId, latest.draft);
+            }
+        }
+    }
+
+    /**
+     * Get the newest draft of a player, or null if there is none.
+     */
+    @Nullable
+    public D get(@Nonnull UUID playerId) {
+        Pending<D> latest = pending.get(playerId);
+        if (latest != null) {
+            return latest.draft;
+        }
+        synchronized (drafts) {
+            Entry<D> entry = drafts.get(playerId);
+            if (entry == null) {
+                return null;
+            }
+            long now = clock.getAsLong();
+            if (entry.expiresAt - now <= 0) {
+                drafts.remove(playerId);
+                return null;
+            }
+            // Renew the TTL; the access already moved the entry to the end
+            entry.expiresAt = now + ttlNanos;
+            return entry.draft;
+        }
+    }
+
+    /**
+     * Forget a player's draft (after saving or cancelling the form).
+     */
+    public void discard(@Nonnull UUID playerId) {
+        synchronized (drafts) {
+            pending.remove(playerId);
+            drafts.remove(playerId);
+        }
+    }
+
+    /**
+     * Commit drafts that have been quiet long enough and drop expired ones.
+     */
+    void sweep() {
+        long now = clock.getAsLong();
+        for (Map.Entry<UUID, Pending<D>> entry : pending.entrySet()) {
+            Pending<D> latest = entry.getValue();
+            if (now - latest.changedAt < debounceNanos) {
+                continue;
+            }
+            synchronized (drafts) {
+                // remove(key, value) fails if a newer change arrived or the draft was discarded meanwhile
+                if (pending.remove(entry.getKey(), latest)) {
+                    commit(entry.getKey(), latest.draft);
+                }
+            }
+        }
+
+        // Eldest first, so stop at the first entry that is still alive
+        synchronized (drafts) {
+            Iterator<Entry<D>> it = drafts.values().iterator();
+            while (it.hasNext() && it.next().expiresAt - now <= 0) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Put a draft into the cache. Caller holds the drafts lock.
+     */
+    private void commit(UUID playerId, D draft) {
+        drafts.put(playerId, new Entry<>(draft, clock.getAsLong() + ttlNanos));
+        if (drafts.size() > maxEntries) {
+            Iterator<UUID> eldest = drafts.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private record Pending<D>(D draft, long changedAt) {
+    }
+
+    private static final class Entry<D> {
+        final D draft;
+        long expiresAt;
+
+        Entry(D draft, long expiresAt) {
+            this.draft = draft;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
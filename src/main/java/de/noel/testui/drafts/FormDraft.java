@@ -0,0 +1,24 @@
+package de.noel.testui.drafts;
+
+import javax.annotation.Nonnull;
+
+/**
+ * FormDraft - Unsaved input of the settings form.
+ *
+ * Kept deliberately small: one (length-capped) string and two flags.
+ *
+ * @param playerName    Text of #NameInput
+ * @param notifications State of #NotifyOption
+ * @param coordinates   State of #CoordsOption
+ */
+public record FormDraft(@Nonnull String playerName, boolean notifications, boolean coordinates) {
+
+    /** Longer input is cut off so a single draft can't grow without bounds. */
+    public static final int MAX_NAME_LENGTH = 64;
+
+    public FormDraft {
+        if (playerName.length() > MAX_NAME_LENGTH) {
+            playerName = playerName.substring(0, MAX_NAME_LENGTH);
+        }
+    }
+}
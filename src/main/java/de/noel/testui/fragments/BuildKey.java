@@ -0,0 +1,27 @@
+package de.noel.testui.fragments;
+
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import de.noel.testui.i18n.Localization;
+import javax.annotation.Nonnull;
+
+/**
+ * BuildKey - Everything that decides which fragments a page contains.
+ *
+ * Deliberately small: a few roles x a few locales x a few flags gives a
+ * handful of combinations, so cached builds are reused by almost everyone.
+ *
+ * @param role   Permission level of the viewer
+ * @param locale Loaded locale (see {@link Localization#localeOf})
+ * @param flags  Enabled {@link Feature} bit mask
+ */
+public record BuildKey(@Nonnull Role role, @Nonnull String locale, int flags) {
+
+    public static BuildKey of(@Nonnull Player player, @Nonnull PlayerRef playerRef, @Nonnull Localization localization) {
+        return new BuildKey(Role.of(player), localization.localeOf(playerRef), Feature.enabled());
+    }
+
+    public boolean has(@Nonnull Feature feature) {
+        return feature.isIn(flags);
+    }
+}
@@ -0,0 +1,48 @@
+package de.noel.testui.fragments;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Feature - Server-wide feature flags that pages can build fragments for.
+ *
+ * Enabled with a comma separated system property, e.g.
+ *   -Dtestui.features=staff_notes,beta
+ *
+ * The enabled set is read once and kept as a bit mask, so it can be part of
+ * a {@link BuildKey} at no cost.
+ */
+public enum Feature {
+    /** Show the staff sections (moderator/admin fragments) at all. */
+    STAFF_NOTES,
+    /** Experimental page sections. */
+    BETA;
+
+    private static final int ENABLED = parse(System.getProperty("testui.features", "staff_notes"));
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public boolean isIn(int flags) {
+        return (flags & mask()) != 0;
+    }
+
+    /**
+     * Bit mask of all enabled features.
+     */
+    public static int enabled() {
+        return ENABLED;
+    }
+
+    private static int parse(@Nonnull String value) {
+        int flags = 0;
+        for (String name : value.split(",")) {
+            for (Feature feature : values()) {
+                if (feature.name().equalsIgnoreCase(name.trim())) {
+                    flags |= feature.mask();
+                }
+            }
+        }
+        return flags;
+    }
+}
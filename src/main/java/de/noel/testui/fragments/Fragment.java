@@ -0,0 +1,43 @@
+package de.noel.testui.fragments;
+
+import javax.annotation.Nonnull;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Fragment - A part of a page that only depends on the {@link BuildKey}.
+ *
+ * Example: a moderator section that is only shown to moderators and admins:
+ *
+ *   Fragment.when("moderator", key -> key.role().atLeast(Role.MODERATOR), (key, cmd) -> {
+ *       cmd.set("#ModeratorSection.Visible", true);
+ *   });
+ *
+ * Fragments must not use anything player-specific (names, stats, ...) -
+ * their output is shared by every player with the same key.
+ *
+ * @param name      Name for debugging
+ * @param condition Whether the fragment is part of the page for a key
+ * @param writer    Writes the fragment's commands
+ */
+public record Fragment(
+    @Nonnull String name,
+    @Nonnull Predicate<BuildKey> condition,
+    @Nonnull BiConsumer<BuildKey, RecordedCommands> writer
+) {
+
+    /**
+     * A fragment that is always part of the page (layout, translated labels).
+     */
+    public static Fragment always(@Nonnull String name, @Nonnull BiConsumer<BuildKey, RecordedCommands> writer) {
+        return new Fragment(name, key -> true, writer);
+    }
+
+    public static Fragment when(
+        @Nonnull String name,
+        @Nonnull Predicate<BuildKey> condition,
+        @Nonnull BiConsumer<BuildKey, RecordedCommands> writer
+    ) {
+        return new Fragment(name, condition, writer);
+    }
+}
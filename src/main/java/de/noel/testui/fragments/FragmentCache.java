@@ -0,0 +1,93 @@
+package de.noel.testui.fragments;
+
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import javax.annotation.Nonnull;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * FragmentCache - Caches the key-dependent part of page builds.
+ *
+ * A page lists its {@link Fragment}s once. On build, the cache looks up
+ * (page class, {@link BuildKey}):
+ *
+ *   - hit:  replay the recorded commands into the builder
+ *   - miss: run the matching fragments into a recorder, store it, replay it
+ *
+ * The page then sets its per-player values (names, numbers, ...) on top.
+ * Entries are evicted least-recently-used beyond maxEntries.
+ */
+public class FragmentCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<CacheKey, RecordedCommands> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public FragmentCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, RecordedCommands> eldest) {
+                return size() > FragmentCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Write the fragments of a page for the given key into the builder.
+     */
+    public void apply(
+        @Nonnull Class<?> pageClass,
+        @Nonnull BuildKey key,
+        @Nonnull List<Fragment> fragments,
+        @Nonnull UICommandBuilder commandBuilder
+    ) {
+        CacheKey cacheKey = new CacheKey(pageClass, key);
+        RecordedCommands commands;
+        synchronized (entries) {
+            commands = entries.get(cacheKey);
+        }
+
+        if (commands != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            // Recorded outside the lock; two racing builds just record the same thing twice
+            commands = new RecordedCommands();
+            for (Fragment fragment : fragments) {
+                if (fragment.condition().test(key)) {
+                    fragment.writer().accept(key, commands);
+                }
+            }
+            commands.trim();
+            synchronized (entries) {
+                entries.put(cacheKey, commands);
+            }
+        }
+
+        commands.replay(commandBuilder);
+    }
+
+    /**
+     * Forget all cached builds (e.g. after reloading language bundles).
+     */
+    public void invalidate() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private record CacheKey(Class<?> pageClass, BuildKey key) {
+    }
+}
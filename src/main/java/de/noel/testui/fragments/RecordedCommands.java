@@ -0,0 +1,109 @@
+package de.noel.testui.fragments;
+
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * RecordedCommands - A list of UI commands that can be replayed into a builder.
+ *
+ * Fragments write into a recorder once per {@link BuildKey}; every later
+ * build replays the recorded commands. Replaying is a plain loop over flat
+ * arrays - no permission checks, no bundle lookups, no string building.
+ */
+public final class RecordedCommands {
+
+    private static final byte APPEND = 0;
+    private static final byte APPEND_TO = 1;
+    private static final byte SET_TEXT = 2;
+    private static final byte SET_BOOLEAN = 3;
+    private static final byte SET_FLOAT = 4;
+
+    private byte[] ops = new byte[16];
+    private String[] selectors = new String[16];
+    private String[] values = new String[16];
+    private float[] numbers = new float[16];
+    private int size;
+
+    /**
+     * Load a .ui document at the root.
+     */
+    public RecordedCommands append(@Nonnull String document) {
+        return add(APPEND, null, document);
+    }
+
+    /**
+     * Load a .ui document into a container.
+     */
+    public RecordedCommands append(@Nonnull String selector, @Nonnull String document) {
+        return add(APPEND_TO, selector, document);
+    }
+
+    public RecordedCommands set(@Nonnull String selector, @Nonnull String value) {
+        return add(SET_TEXT, selector, value);
+    }
+
+    public RecordedCommands set(@Nonnull String selector, boolean value) {
+        return add(SET_BOOLEAN, selector, value ? "true" : null);
+    }
+
+    public RecordedCommands set(@Nonnull String selector, float value) {
+        add(SET_FLOAT, selector, null);
+        numbers[size - 1] = value;
+        return this;
+    }
+
+    /**
+     * Set several text values from (selector, text) pairs, e.g. translated labels.
+     */
+    public RecordedCommands setAll(@Nonnull String[] pairs) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            set(pairs[i], pairs[i + 1]);
+        }
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Write all recorded commands into a builder, in recording order.
+     */
+    public void replay(@Nonnull UICommandBuilder commandBuilder) {
+        for (int i = 0; i < size; i++) {
+            switch (ops[i]) {
+                case APPEND -> commandBuilder.append(values[i]);
+                case APPEND_TO -> commandBuilder.append(selectors[i], values[i]);
+                case SET_TEXT -> commandBuilder.set(selectors[i], values[i]);
+                case SET_FLOAT -> commandBuilder.set(selectors[i], numbers[i]);
+                default -> commandBuilder.set(selectors[i], values[i] != null);
+            }
+        }
+    }
+
+    /**
+     * Drop unused capacity once recording is finished.
+     */
+    RecordedCommands trim() {
+        ops = Arrays.copyOf(ops, size);
+        selectors = Arrays.copyOf(selectors, size);
+        values = Arrays.copyOf(values, size);
+        numbers = Arrays.copyOf(numbers, size);
+        return this;
+    }
+
+    private RecordedCommands add(byte op, String selector, String value) {
+        if (size == ops.length) {
+            ops = Arrays.copyOf(ops, size * 2);
+            selectors = Arrays.copyOf(selectors, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+            numbers = Arrays.copyOf(numbers, size * 2);
+        }
+        ops[size] = op;
+        selectors[size] = selector;
+        values[size] = value;
+        size++;
+        return this;
+    }
+}
@@ -0,0 +1,33 @@
+package de.noel.testui.fragments;
+
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import javax.annotation.Nonnull;
+
+/**
+ * Role - The permission level a page is built for.
+ *
+ * Ordered from least to most privileged, so "at least moderator" is
+ * role.atLeast(MODERATOR).
+ */
+public enum Role {
+    PLAYER,
+    MODERATOR,
+    ADMIN;
+
+    public static final String MODERATOR_PERMISSION = "testui.moderator";
+    public static final String ADMIN_PERMISSION = "testui.admin";
+
+    public boolean atLeast(@Nonnull Role other) {
+        return ordinal() >= other.ordinal();
+    }
+
+    public static Role of(@Nonnull Player player) {
+        if (player.hasPermission(ADMIN_PERMISSION)) {
+            return ADMIN;
+        }
+        if (player.hasPermission(MODERATOR_PERMISSION)) {
+            return MODERATOR;
+        }
+        return PLAYER;
+    }
+}
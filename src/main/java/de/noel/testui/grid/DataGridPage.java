@@ -0,0 +1,394 @@
+package de.noel.testui.grid;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
+import com.hypixel.hytale.protocol.packets.interface_.Page;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCustomUIPage;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import de.noel.testui.bindings.Binding;
+import de.noel.testui.bindings.BindingRegistry;
+import de.noel.testui.diagnostics.UiTrace;
+import de.noel.testui.payload.PayloadMeter;
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DataGridPage - A reusable table page backed by a {@link GridModel}.
+ *
+ * Sorting, filtering and paging all happen on the server. The page is built
+ * once with a fixed number of empty rows; afterwards every interaction only
+ * sends the cells that actually changed via sendUpdate().
+ *
+ * Interactions:
+ *   - Click a column header to sort (click again to reverse)
+ *   - Type a filter ("steve", "balance>1000") and press FILTER
+ *   - PREV / NEXT to page through the results
+ *   - Press ">" on a row to show the full record
+ *
+ * Event bindings go through a {@link BindingRegistry}: each row's ">" button
+ * is bound once to its slot, and the server resolves the slot against the
+ * rows it last sent. Paging therefore sends no bindings at all - only a slot
+ * that becomes pickable again (after a short last page) is bound anew.
+ * A pick after the model changed re-sends the rows instead of resolving the
+ * slot, since a removal may have moved another record into its index.
+ */
+public class DataGridPage extends InteractiveCustomUIPage<DataGridPage.GridEventData> {
+
+    /** Rows appended by build() - only these are ever sent to the client. */
+    public static final int VISIBLE_ROWS = 12;
+
+    /** Header and cell slots available in DataGridRow.ui. */
+    public static final int MAX_COLUMNS = 6;
+
+    private final String title;
+    private final GridModel model;
+
+    // Per-viewer state - the model itself is shared
+    private int sortColumn = -1;
+    private boolean descending;
+    private String filter = "";
+    private int offset;
+
+    // Current result rows, recomputed when the query or the model version changes
+    private int[] rows;
+    private long rowsVersion = -1;
+
+    // Cell texts already on the client, so unchanged cells are not resent
+    private final String[][] shown = new String[VISIBLE_ROWS][MAX_COLUMNS];
+    private String shownPageInfo;
+    private final boolean[] shownPick = new boolean[VISIBLE_ROWS];
+    private boolean pickSlotsChanged;
+
+    // Bindings already on the client
+    private final BindingRegistry bindings = new BindingRegistry();
+
+    /**
+     * Event data for all grid interactions.
+     *
+     *   - action: "Sort", "Filter", "Prev", "Next", "Pick" or "Close"
+     *   - column: Column index for "Sort"
+     *   - row:    Visible slot (0 .. VISIBLE_ROWS - 1) for "Pick"
+     *   - filter: Value of #FilterInput for "Filter"
+     *   - binding: Id of the binding that fired (see BindingRegistry)
+     */
+    public static class GridEventData {
+        public String action;
+        public String column;
+        public String row;
+        public String filter;
+        public String binding;
+
+        public static final BuilderCodec<GridEventData> CODEC = BuilderCodec.builder(GridEventData.class, GridEventData::new)
+            .append(new KeyedCodec<>("Action", Codec.STRING), (GridEventData o, String v) -> o.action = v, (GridEventData o) -> o.action)
+            .add()
+            .append(new KeyedCodec<>("Column", Codec.STRING), (GridEventData o, String v) -> o.column = v, (GridEventData o) -> o.column)
+            .add()
+            .append(new KeyedCodec<>("Row", Codec.STRING), (GridEventData o, String v) -> o.row = v, (GridEventData o) -> o.row)
+            .add()
+            .append(new KeyedCodec<>("@Filter", Codec.STRING), (GridEventData o, String v) -> o.filter = v, (GridEventData o) -> o.filter)
+            .add()
+            .append(new KeyedCodec<>(BindingRegistry.ID_KEY, Codec.STRING), (GridEventData o, String v) -> o.binding = v, (GridEventData o) -> o.binding)
+            .add()
+            .build();
+    }
+
+    public DataGridPage(@Nonnull PlayerRef playerRef, @Nonnull String title, @Nonnull GridModel model) {
+        super(playerRef, CustomPageLifetime.CanDismissOrCloseThroughInteraction, GridEventData.CODEC);
+        if (model.getColumnCount() > MAX_COLUMNS) {
+            throw new IllegalArgumentException("DataGridPage supports at most " + MAX_COLUMNS + " columns");
+        }
+        this.title = title;
+        this.model = model;
+    }
+
+    @Override
+    public void build(
+        @Nonnull Ref<EntityStore> ref,
+        @Nonnull UICommandBuilder commandBuilder,
+        @Nonnull UIEventBuilder eventBuilder,
+        @Nonnull Store<EntityStore> store
+    ) {
+        UiTrace.Span trace = UiTrace.build(this, playerRef);
+
+        commandBuilder.append("Pages/DataGrid.ui");
+        commandBuilder.set("#Title.Text", title);
+
+        // A fresh build means the client has no bindings yet
+        bindings.reset();
+
+        // Header buttons - unused slots are hidden
+        int columnCount = model.getColumnCount();
+        List<Binding> controls = new ArrayList<>();
+        for (int c = 0; c < MAX_COLUMNS; c++) {
+            if (c < columnCount) {
+                controls.add(Binding.activating("#Header" + c).with("Action", "Sort").with("Column", String.valueOf(c)));
+            } else {
+                commandBuilder.set("#Header" + c + ".Visible", false);
+            }
+        }
+        controls.add(Binding.activating("#FilterButton").with("Action", "Filter").with("@Filter", "#FilterInput.Value"));
+        controls.add(Binding.activating("#PrevButton").with("Action", "Prev"));
+        controls.add(Binding.activating("#NextButton").with("Action", "Next"));
+        controls.add(Binding.activating("#CloseButton").with("Action", "Close"));
+        bindings.sync(eventBuilder, "controls", controls);
+
+        // Fixed set of empty rows; their cells are filled in by writeRows()
+        for (int r = 0; r < VISIBLE_ROWS; r++) {
+            commandBuilder.append("#Rows", "Pages/DataGridRow.ui");
+            for (int c = columnCount; c < MAX_COLUMNS; c++) {
+                commandBuilder.set("#Rows[" + r + "] #C" + c + ".Visible", false);
+            }
+        }
+
+        // A fresh build means the client shows the .ui defaults again
+        for (String[] row : shown) {
+            Arrays.fill(row, null);
+        }
+        shownPageInfo = null;
+        Arrays.fill(shownPick, true);
+        pickSlotsChanged = true;
+        writeHeaders(commandBuilder);
+        writeRows(commandBuilder, eventBuilder);
+
+        trace.end(PayloadMeter.build(this, commandBuilder, eventBuilder));
+    }
+
+    /**
+     * Traced entry point: the span covers decoding the event data and
+     * handleDataEvent() below.
+     */
+    @Override
+    public void handleDataEvent(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store, @Nonnull String rawData) {
+        UiTrace.Span trace = UiTrace.handler(this, playerRef);
+        try {
+            super.handleDataEvent(ref, store, rawData);
+        } finally {
+            trace.close();
+        }
+    }
+
+    @Override
+    public void handleDataEvent(
+        @Nonnull Ref<EntityStore> ref,
+        @Nonnull Store<EntityStore> store,
+        @Nonnull GridEventData data
+    ) {
+        // Ignore replaced bindings that are still attached on the client
+        if (!bindings.accept(data.binding)) {
+            return;
+        }
+
+        boolean headersChanged = false;
+
+        switch (data.action != null ? data.action : "") {
+            case "Sort" -> {
+                int column = parseColumn(data.column);
+                if (column < 0) {
+                    return;
+                }
+                descending = column == sortColumn && !descending;
+                sortColumn = column;
+                offset = 0;
+                rowsVersion = -1;
+                headersChanged = true;
+            }
+            case "Filter" -> {
+                filter = data.filter != null ? data.filter : "";
+                offset = 0;
+                rowsVersion = -1;
+            }
+            case "Prev" -> offset = Math.max(0, offset - VISIBLE_ROWS);
+            case "Next" -> offset += VISIBLE_ROWS;
+            case "Pick" -> {
+                pick(data.row);
+                return;
+            }
+            case "Close" -> {
+                Player player = store.getComponent(ref, Player.getComponentType());
+                player.getPageManager().setPage(ref, store, Page.None);
+                return;
+            }
+            default -> {
+                return;
+            }
+        }
+
+        // Partial update - only changed headers, cells and row bindings are sent
+        UICommandBuilder update = new UICommandBuilder();
+        if (headersChanged) {
+            writeHeaders(update);
+        }
+        sendRows(update);
+    }
+
+    @Override
+    public void onDismiss(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store) {
+        UiTrace.close(this, playerRef);
+    }
+
+    private void writeHeaders(UICommandBuilder cmd) {
+        GridColumn[] columns = model.getColumns();
+        for (int c = 0; c < columns.length; c++) {
+            String text = columns[c].header();
+            if (c == sortColumn) {
+                text += descending ? " v" : " ^";
+            }
+            cmd.set("#Header" + c + ".Text", text);
+        }
+    }
+
+    /**
+     * Resolve a ">" click on a slot to the record shown there.
+     */
+    private void pick(String slot) {
+        int r;
+        try {
+            r = Integer.parseInt(slot);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (r < 0 || r >= VISIBLE_ROWS || rows == null) {
+            return;
+        }
+
+        // Row indices are only stable until the next removal: if the model changed
+        // since the rows were sent, the index may now hold another record. Show the
+        // current rows instead and let the player pick again.
+        if (model.getVersion() != rowsVersion) {
+            UICommandBuilder update = new UICommandBuilder();
+            update.set("#Selection.Text", "The table changed - pick the row again");
+            sendRows(update);
+            return;
+        }
+
+        // rows/offset are what the client was last sent, so this is the record the player saw
+        int index = offset + r;
+        if (index < rows.length) {
+            showRecord(rows[index]);
+        }
+    }
+
+    /**
+     * Show all columns of the picked record below the table.
+     */
+    private void showRecord(int row) {
+        // Read the whole record at once - it may be removed by another thread
+        String[] cells = model.formatRowIfPresent(row);
+        if (cells == null) {
+            return;
+        }
+
+        GridColumn[] columns = model.getColumns();
+        StringBuilder text = new StringBuilder();
+        for (int c = 0; c < columns.length; c++) {
+            if (c > 0) {
+                text.append("   ");
+            }
+            text.append(columns[c].header()).append(": ").append(cells[c]);
+        }
+
+        UICommandBuilder update = new UICommandBuilder();
+        update.set("#Selection.Text", text.toString());
+        PayloadMeter.update(this, update, null);
+        sendUpdate(update, false);
+    }
+
+    /**
+     * Send the rows for the current offset along with an update, plus any new row bindings.
+     */
+    private void sendRows(UICommandBuilder update) {
+        UIEventBuilder events = new UIEventBuilder();
+        if (writeRows(update, events) > 0) {
+            PayloadMeter.update(this, update, events);
+            sendUpdate(update, events, false);
+        } else {
+            PayloadMeter.update(this, update, null);
+            sendUpdate(update, false);
+        }
+    }
+
+    /**
+     * Fill the visible rows for the current offset.
+     *
+     * @return Number of row bindings added to {@code events}
+     */
+    private int writeRows(UICommandBuilder cmd, UIEventBuilder events) {
+        long version = model.getVersion();
+        if (rows == null || version != rowsVersion) {
+            rows = model.query(sortColumn, descending, filter);
+            rowsVersion = version;
+        }
+
+        // Clamp paging to the result size
+        if (offset >= rows.length) {
+            offset = Math.max(0, (rows.length - 1) / VISIBLE_ROWS * VISIBLE_ROWS);
+        }
+
+        int columnCount = model.getColumnCount();
+        for (int r = 0; r < VISIBLE_ROWS; r++) {
+            int index = offset + r;
+
+            boolean pick = index < rows.length && rows[index] < model.getRowCount();
+            if (pick != shownPick[r]) {
+                cmd.set("#Rows[" + r + "] #Pick.Visible", pick);
+                shownPick[r] = pick;
+                pickSlotsChanged = true;
+            }
+
+            for (int c = 0; c < columnCount; c++) {
+                String text = index < rows.length ? formatCell(rows[index], c) : "";
+                if (!text.equals(shown[r][c])) {
+                    cmd.set("#Rows[" + r + "] #C" + c + ".Text", text);
+                    shown[r][c] = text;
+                }
+            }
+        }
+
+        String pageInfo = rows.length == 0
+            ? "No results"
+            : (offset + 1) + "-" + Math.min(offset + VISIBLE_ROWS, rows.length) + " of " + rows.length;
+        if (!pageInfo.equals(shownPageInfo)) {
+            cmd.set("#PageInfo.Text", pageInfo);
+            shownPageInfo = pageInfo;
+        }
+
+        if (!pickSlotsChanged) {
+            return 0;
+        }
+        pickSlotsChanged = false;
+
+        // One binding per pickable slot - its data never changes, so only new slots are sent
+        List<Binding> pickBindings = new ArrayList<>(VISIBLE_ROWS);
+        for (int r = 0; r < VISIBLE_ROWS; r++) {
+            if (shownPick[r]) {
+                pickBindings.add(Binding.activating("#Rows[" + r + "] #Pick").with("Action", "Pick").with("Row", String.valueOf(r)));
+            }
+        }
+        return bindings.sync(events, "rows", pickBindings);
+    }
+
+    private String formatCell(int row, int column) {
+        // The row may have been removed since the query ran
+        String text = model.formatIfPresent(row, column);
+        return text != null ? text : "";
+    }
+
+    private int parseColumn(String column) {
+        try {
+            int index = Integer.parseInt(column);
+            return index >= 0 && index < model.getColumnCount() ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
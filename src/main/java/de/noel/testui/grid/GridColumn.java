@@ -0,0 +1,39 @@
+package de.noel.testui.grid;
+
+import javax.annotation.Nonnull;
+
+/**
+ * GridColumn - Describes one column of a {@link GridModel}.
+ *
+ * The type decides which primitive array backs the column, so sorting and
+ * filtering never have to box values.
+ *
+ * @param id     Short identifier, also usable in filters ("balance>100")
+ * @param header Text shown in the column header
+ * @param type   Storage type of the column
+ */
+public record GridColumn(@Nonnull String id, @Nonnull String header, @Nonnull Type type) {
+
+    public enum Type {
+        INT,
+        LONG,
+        DOUBLE,
+        STRING
+    }
+
+    public static GridColumn ofInt(String id, String header) {
+        return new GridColumn(id, header, Type.INT);
+    }
+
+    public static GridColumn ofLong(String id, String header) {
+        return new GridColumn(id, header, Type.LONG);
+    }
+
+    public static GridColumn ofDouble(String id, String header) {
+        return new GridColumn(id, header, Type.DOUBLE);
+    }
+
+    public static GridColumn ofString(String id, String header) {
+        return new GridColumn(id, header, Type.STRING);
+    }
+}
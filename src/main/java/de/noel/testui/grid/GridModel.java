@@ -0,0 +1,606 @@
+package de.noel.testui.grid;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * GridModel - Column-oriented row storage with cached sort orders.
+ *
+ * Every column is one primitive array (int[], long[], double[] or String[]),
+ * so a 50k row table is a handful of flat arrays instead of 50k row objects.
+ *
+ * Sorting:
+ *   - The first sort on a column builds a permutation (row indices in
+ *     ascending order) and keeps it, together with its inverse.
+ *   - Changing a value only moves that one row inside the cached
+ *     permutations of its column (binary search + array shift) instead
+ *     of throwing the permutation away.
+ *   - Ties are broken by row index, so every order is deterministic.
+ *
+ * The model is shared between all viewers; all methods are synchronized.
+ * A row index may be removed by another thread between two calls, so
+ * readers use the *IfPresent methods, and compound updates (read, then
+ * write) hold the model's monitor: {@code synchronized (model) { ... }}.
+ */
+public class GridModel {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // "balance>=100", "name=Steve" - column id, operator, operand
+    private static final Pattern COLUMN_FILTER = Pattern.compile("^\\s*(\\w+)\\s*(>=|<=|>|<|=)\\s*(.*?)\\s*$");
+
+    private final GridColumn[] columns;
+    private final Object[] data;
+    private final SortIndex[] sortIndexes;
+    private int rowCount;
+    private int capacity;
+    private long version;
+
+    public GridModel(@Nonnull GridColumn... columns) {
+        this.columns = columns.clone();
+        this.data = new Object[columns.length];
+        this.sortIndexes = new SortIndex[columns.length];
+        this.capacity = INITIAL_CAPACITY;
+        for (int c = 0; c < columns.length; c++) {
+            data[c] = newColumn(columns[c].type(), capacity);
+        }
+    }
+
+    public GridColumn[] getColumns() {
+        return columns.clone();
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public synchronized int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Incremented on every change - views compare it to know when to refresh.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    // ------------------------------------------------------------------
+    // Row updates
+    // ------------------------------------------------------------------
+
+    /**
+     * Append a row with default values (0 / empty string) and return its index.
+     */
+    public synchronized int addRow() {
+        if (rowCount == capacity) {
+            grow();
+        }
+        int row = rowCount++;
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c].type() == GridColumn.Type.STRING) {
+                ((String[]) data[c])[row] = "";
+            }
+            if (sortIndexes[c] != null) {
+                sortIndexes[c].insert(row);
+            }
+        }
+        version++;
+        return row;
+    }
+
+    /**
+     * Remove a row. The last row is moved into the freed slot, so row
+     * indices are only stable until the next removal.
+     */
+    public synchronized void removeRow(int row) {
+        checkRow(row);
+        for (int c = 0; c < columns.length; c++) {
+            if (sortIndexes[c] != null) {
+                sortIndexes[c].remove(row);
+            }
+        }
+        int last = --rowCount;
+        if (row != last) {
+            for (int c = 0; c < columns.length; c++) {
+                System.arraycopy(data[c], last, data[c], row, 1);
+                if (sortIndexes[c] != null) {
+                    sortIndexes[c].rename(last, row);
+                }
+            }
+        }
+        // Reset the freed slot, so the next addRow() starts from default values
+        for (int c = 0; c < columns.length; c++) {
+            switch (columns[c].type()) {
+                case INT -> ((int[]) data[c])[last] = 0;
+                case LONG -> ((long[]) data[c])[last] = 0;
+                case DOUBLE -> ((double[]) data[c])[last] = 0;
+                case STRING -> ((String[]) data[c])[last] = null;
+            }
+        }
+        version++;
+    }
+
+    public synchronized void setInt(int row, int column, int value) {
+        checkRow(row);
+        ((int[]) data(column, GridColumn.Type.INT))[row] = value;
+        changed(row, column);
+    }
+
+    public synchronized void setLong(int row, int column, long value) {
+        checkRow(row);
+        ((long[]) data(column, GridColumn.Type.LONG))[row] = value;
+        changed(row, column);
+    }
+
+    public synchronized void setDouble(int row, int column, double value) {
+        checkRow(row);
+        ((double[]) data(column, GridColumn.Type.DOUBLE))[row] = value;
+        changed(row, column);
+    }
+
+    public synchronized void setString(int row, int column, @Nonnull String value) {
+        checkRow(row);
+        ((String[]) data(column, GridColumn.Type.STRING))[row] = value;
+        changed(row, column);
+    }
+
+    public synchronized long getLong(int row, int column) {
+        checkRow(row);
+        return switch (columns[column].type()) {
+            case INT -> ((int[]) data[column])[row];
+            case LONG -> ((long[]) data[column])[row];
+            case DOUBLE -> (long) ((double[]) data[column])[row];
+            case STRING -> throw new IllegalArgumentException("Column " + columns[column].id() + " is not numeric");
+        };
+    }
+
+    /**
+     * Format a single cell for display. Only called for visible rows.
+     */
+    public synchronized String format(int row, int column) {
+        checkRow(row);
+        return switch (columns[column].type()) {
+            case INT -> Integer.toString(((int[]) data[column])[row]);
+            case LONG -> Long.toString(((long[]) data[column])[row]);
+            case DOUBLE -> String.format(Locale.ROOT, "%.2f", ((double[]) data[column])[row]);
+            case STRING -> ((String[]) data[column])[row];
+        };
+    }
+
+    /**
+     * Format a cell if the row still exists - check and read under one lock.
+     *
+     * @return The text, or null if the row was removed meanwhile
+     */
+    @Nullable
+    public synchronized String formatIfPresent(int row, int column) {
+        return row >= 0 && row < rowCount ? format(row, column) : null;
+    }
+
+    /**
+     * Format all cells of a row if it still exists.
+     *
+     * @return One text per column, or null if the row was removed meanwhile
+     */
+    @Nullable
+    public synchronized String[] formatRowIfPresent(int row) {
+        if (row < 0 || row >= rowCount) {
+            return null;
+        }
+        String[] cells = new String[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            cells[c] = format(row, c);
+        }
+        return cells;
+    }
+
+    // ------------------------------------------------------------------
+    // Queries
+    // ------------------------------------------------------------------
+
+    /**
+     * Compute the rows matching a filter, in sort order.
+     *
+     * @param sortColumn Column to sort by, or -1 to keep insertion order
+     * @param descending Reverse the sort order
+     * @param filter     Filter text (see {@link #parseFilter}), empty for none
+     * @return Row indices, valid until the model version changes
+     */
+    public synchronized int[] query(int sortColumn, boolean descending, @Nonnull String filter) {
+        int[] order;
+        if (sortColumn >= 0) {
+            order = sortIndex(sortColumn).order;
+        } else {
+            order = null;
+        }
+
+        RowFilter rowFilter = parseFilter(filter);
+        int[] result = new int[rowCount];
+        int matches = 0;
+        for (int i = 0; i < rowCount; i++) {
+            int index = descending ? rowCount - 1 - i : i;
+            int row = order != null ? order[index] : index;
+            if (rowFilter == null || rowFilter.matches(row)) {
+                result[matches++] = row;
+            }
+        }
+        return matches == rowCount ? result : Arrays.copyOf(result, matches);
+    }
+
+    /**
+     * Parse filter text into a row predicate.
+     *
+     * Supported forms:
+     *   - "column op value" with op one of = &lt; &gt; &lt;= &gt;= (e.g. "balance>1000")
+     *   - anything else: case-insensitive "contains" on the first text column
+     *
+     * @return The filter, or null if the text is blank
+     */
+    private RowFilter parseFilter(String filter) {
+        if (filter.isBlank()) {
+            return null;
+        }
+
+        Matcher matcher = COLUMN_FILTER.matcher(filter);
+        if (matcher.matches()) {
+            int column = columnIndex(matcher.group(1));
+            if (column >= 0) {
+                return compareFilter(column, matcher.group(2), matcher.group(3));
+            }
+        }
+
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c].type() == GridColumn.Type.STRING) {
+                String[] values = (String[]) data[c];
+                String needle = filter.trim();
+                return row -> containsIgnoreCase(values[row], needle);
+            }
+        }
+        return row -> false;
+    }
+
+    private RowFilter compareFilter(int column, String operator, String operand) {
+        if (columns[column].type() == GridColumn.Type.STRING) {
+            String[] values = (String[]) data[column];
+            return row -> test(operator, String.CASE_INSENSITIVE_ORDER.compare(values[row], operand));
+        }
+
+        double target;
+        try {
+            target = Double.parseDouble(operand);
+        } catch (NumberFormatException e) {
+            return row -> false;
+        }
+        return switch (columns[column].type()) {
+            case INT -> {
+                int[] values = (int[]) data[column];
+                yield row -> test(operator, Double.compare(values[row], target));
+            }
+            case LONG -> {
+                long[] values = (long[]) data[column];
+                yield row -> test(operator, Double.compare(values[row], target));
+            }
+            default -> {
+                double[] values = (double[]) data[column];
+                yield row -> test(operator, Double.compare(values[row], target));
+            }
+        };
+    }
+
+    private static boolean test(String operator, int comparison) {
+        return switch (operator) {
+            case "<" -> comparison < 0;
+            case "<=" -> comparison <= 0;
+            case ">" -> comparison > 0;
+            case ">=" -> comparison >= 0;
+            default -> comparison == 0;
+        };
+    }
+
+    private static boolean containsIgnoreCase(String haystack, String needle) {
+        int max = haystack.length() - needle.length();
+        for (int i = 0; i <= max; i++) {
+            if (haystack.regionMatches(true, i, needle, 0, needle.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int columnIndex(@Nonnull String id) {
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c].id().equalsIgnoreCase(id)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    // ------------------------------------------------------------------
+    // Internals
+    // ------------------------------------------------------------------
+
+    private void changed(int row, int column) {
+        if (sortIndexes[column] != null) {
+            sortIndexes[column].reposition(row);
+        }
+        version++;
+    }
+
+    private SortIndex sortIndex(int column) {
+        SortIndex index = sortIndexes[column];
+        if (index == null) {
+            index = new SortIndex(column);
+            sortIndexes[column] = index;
+        }
+        return index;
+    }
+
+    /**
+     * Compare two rows by one column, breaking ties by row index.
+     */
+    private int compare(int column, int a, int b) {
+        int result = switch (columns[column].type()) {
+            case INT -> Integer.compare(((int[]) data[column])[a], ((int[]) data[column])[b]);
+            case LONG -> Long.compare(((long[]) data[column])[a], ((long[]) data[column])[b]);
+            case DOUBLE -> Double.compare(((double[]) data[column])[a], ((double[]) data[column])[b]);
+            case STRING -> String.CASE_INSENSITIVE_ORDER.compare(((String[]) data[column])[a], ((String[]) data[column])[b]);
+        };
+        return result != 0 ? result : Integer.compare(a, b);
+    }
+
+    private Object data(int column, GridColumn.Type expected) {
+        if (columns[column].type() != expected) {
+            throw new IllegalArgumentException("Column " + columns[column].id() + " is " + columns[column].type() + ", not " + expected);
+        }
+        return data[column];
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of " + rowCount);
+        }
+    }
+
+    private void grow() {
+        capacity *= 2;
+        for (int c = 0; c < columns.length; c++) {
+            data[c] = switch (columns[c].type()) {
+                case INT -> Arrays.copyOf((int[]) data[c], capacity);
+                case LONG -> Arrays.copyOf((long[]) data[c], capacity);
+                case DOUBLE -> Arrays.copyOf((double[]) data[c], capacity);
+                case STRING -> Arrays.copyOf((String[]) data[c], capacity);
+            };
+            if (sortIndexes[c] != null) {
+                sortIndexes[c].position = Arrays.copyOf(sortIndexes[c].position, capacity);
+                sortIndexes[c].order = Arrays.copyOf(sortIndexes[c].order, capacity);
+            }
+        }
+    }
+
+    private static Object newColumn(GridColumn.Type type, int capacity) {
+        return switch (type) {
+            case INT -> new int[capacity];
+            case LONG -> new long[capacity];
+            case DOUBLE -> new double[capacity];
+            case STRING -> new String[capacity];
+        };
+    }
+
+    @FunctionalInterface
+    private interface RowFilter {
+        boolean matches(int row);
+    }
+
+    /**
+     * Cached ascending order of one column.
+     *
+     *   order[i]      = row at sorted position i
+     *   position[row] = sorted position of row (inverse of order)
+     */
+    private final class SortIndex {
+        private final int column;
+        private int[] order;
+        private int[] position;
+
+        SortIndex(int column) {
+            this.column = column;
+            this.order = new int[capacity];
+            this.position = new int[capacity];
+            build();
+        }
+
+        private void build() {
+            switch (columns[column].type()) {
+                case INT -> {
+                    // Pack (value, row) into one long: a primitive sort then gives
+                    // value order with row index as tie-breaker, without any comparator
+                    int[] values = (int[]) data[column];
+                    long[] keys = new long[rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        keys[row] = ((long) values[row] << 32) | row;
+                    }
+                    Arrays.sort(keys);
+                    for (int i = 0; i < rowCount; i++) {
+                        order[i] = (int) keys[i];
+                    }
+                }
+                case LONG -> sortByKeys((long[]) data[column]);
+                case DOUBLE -> {
+                    // Map doubles to longs with the same ordering as Double.compare
+                    double[] values = (double[]) data[column];
+                    long[] keys = new long[rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        long bits = Double.doubleToLongBits(values[row]);
+                        keys[row] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+                    }
+                    sortByKeys(keys);
+                }
+                case STRING -> {
+                    for (int row = 0; row < rowCount; row++) {
+                        order[row] = row;
+                    }
+                    mergeSort(order, new int[rowCount], 0, rowCount);
+                }
+            }
+            for (int i = 0; i < rowCount; i++) {
+                position[order[i]] = i;
+            }
+        }
+
+        /**
+         * Stable merge sort of row indices by a primitive key per row.
+         * Rows start in index order, so stability gives the row index tie-break.
+         */
+        private void sortByKeys(long[] keys) {
+            int[] rows = order;
+            int[] buffer = new int[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                rows[row] = row;
+            }
+            // Bottom-up: insertion sort small runs, then merge runs of doubling width
+            for (int from = 0; from < rowCount; from += 16) {
+                int to = Math.min(from + 16, rowCount);
+                for (int i = from + 1; i < to; i++) {
+                    int row = rows[i];
+                    long key = keys[row];
+                    int j = i - 1;
+                    while (j >= from && keys[rows[j]] > key) {
+                        rows[j + 1] = rows[j];
+                        j--;
+                    }
+                    rows[j + 1] = row;
+                }
+            }
+            for (int width = 16; width < rowCount; width *= 2) {
+                for (int from = 0; from < rowCount - width; from += 2 * width) {
+                    int mid = from + width;
+                    int to = Math.min(from + 2 * width, rowCount);
+                    if (keys[rows[mid - 1]] <= keys[rows[mid]]) {
+                        continue;
+                    }
+                    System.arraycopy(rows, from, buffer, from, to - from);
+                    int left = from;
+                    int right = mid;
+                    for (int i = from; i < to; i++) {
+                        if (right >= to || (left < mid && keys[buffer[left]] <= keys[buffer[right]])) {
+                            rows[i] = buffer[left++];
+                        } else {
+                            rows[i] = buffer[right++];
+                        }
+                    }
+                }
+            }
+        }
+
+        private void mergeSort(int[] rows, int[] buffer, int from, int to) {
+            if (to - from <= 16) {
+                for (int i = from + 1; i < to; i++) {
+                    int row = rows[i];
+                    int j = i - 1;
+                    while (j >= from && compare(column, rows[j], row) > 0) {
+                        rows[j + 1] = rows[j];
+                        j--;
+                    }
+                    rows[j + 1] = row;
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            mergeSort(rows, buffer, from, mid);
+            mergeSort(rows, buffer, mid, to);
+            if (compare(column, rows[mid - 1], rows[mid]) <= 0) {
+                return;
+            }
+            System.arraycopy(rows, from, buffer, from, to - from);
+            int left = from;
+            int right = mid;
+            for (int i = from; i < to; i++) {
+                if (right >= to || (left < mid && compare(column, buffer[left], buffer[right]) <= 0)) {
+                    rows[i] = buffer[left++];
+                } else {
+                    rows[i] = buffer[right++];
+                }
+            }
+        }
+
+        /**
+         * Insert a new row (rowCount has already been incremented).
+         */
+        void insert(int row) {
+            int size = rowCount - 1;
+            int at = search(row, 0, size);
+            System.arraycopy(order, at, order, at + 1, size - at);
+            order[at] = row;
+            reindex(at, size + 1);
+        }
+
+        /**
+         * Remove a row from the order (rowCount not decremented yet).
+         */
+        void remove(int row) {
+            int at = position[row];
+            System.arraycopy(order, at + 1, order, at, rowCount - 1 - at);
+            reindex(at, rowCount - 1);
+        }
+
+        /**
+         * A row's data moved to another index: fix the entry, then restore
+         * the tie-break order (which depends on the row index).
+         */
+        void rename(int from, int to) {
+            int at = position[from];
+            order[at] = to;
+            position[to] = at;
+            reposition(to);
+        }
+
+        /**
+         * Move a row whose value changed to its new sorted position.
+         * Only the entries between the old and new position are touched.
+         */
+        void reposition(int row) {
+            int size = rowCount;
+            int at = position[row];
+            if (at > 0 && compare(column, order[at - 1], row) > 0) {
+                int target = search(row, 0, at);
+                System.arraycopy(order, target, order, target + 1, at - target);
+                order[target] = row;
+                reindex(target, at + 1);
+            } else if (at < size - 1 && compare(column, order[at + 1], row) < 0) {
+                int target = search(row, at + 1, size) - 1;
+                System.arraycopy(order, at + 1, order, at, target - at);
+                order[target] = row;
+                reindex(at, target + 1);
+            }
+        }
+
+        /**
+         * First index in [from, to) whose row sorts after the given row.
+         */
+        private int search(int row, int from, int to) {
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(column, order[mid], row) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void reindex(int from, int to) {
+            for (int i = from; i < to; i++) {
+                position[order[i]] = i;
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package de.noel.testui.grid;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import de.noel.testui.diagnostics.UiTrace;
+import javax.annotation.Nonnull;
+import java.util.Random;
+
+/**
+ * Command to open a demo economy ledger in a {@link DataGridPage}.
+ * Usage: /ledger
+ *
+ * The ledger holds 50,000 generated accounts and is shared by everyone who
+ * opens it. Each call books a few random transactions first, so the cached
+ * sort orders are repaired in place instead of being rebuilt.
+ */
+public class LedgerCommand extends AbstractPlayerCommand {
+
+    private static final int ACCOUNTS = 50_000;
+    private static final int TRANSACTIONS_PER_OPEN = 100;
+
+    private static final int COL_BALANCE = 1;
+    private static final int COL_TRANSACTIONS = 2;
+    private static final int COL_AVERAGE = 3;
+
+    private final Random random = new Random();
+    private final GridModel ledger = new GridModel(
+        GridColumn.ofString("player", "Player"),
+        GridColumn.ofLong("balance", "Balance"),
+        GridColumn.ofInt("tx", "Transactions"),
+        GridColumn.ofDouble("avg", "Avg. Tx")
+    );
+
+    public LedgerCommand() {
+        super("ledger", "Opens the economy ledger", false);
+
+        // Generate demo accounts
+        for (int i = 0; i < ACCOUNTS; i++) {
+            int row = ledger.addRow();
+            ledger.setString(row, 0, "Player" + (1000 + random.nextInt(900_000)));
+            ledger.setLong(row, COL_BALANCE, random.nextInt(1_000_000));
+            ledger.setInt(row, COL_TRANSACTIONS, random.nextInt(500));
+            ledger.setDouble(row, COL_AVERAGE, random.nextDouble() * 200);
+        }
+    }
+
+    @Override
+    protected void execute(
+            @Nonnull CommandContext ctx,
+            @Nonnull Store<EntityStore> store,
+            @Nonnull Ref<EntityStore> ref,
+            @Nonnull PlayerRef playerRef,
+            @Nonnull World world
+    ) {
+        // Simulate some economy activity since the last open. Each booking reads
+        // and writes the shared model, so it holds the model's lock throughout -
+        // players in other worlds may run /ledger at the same time
+        for (int i = 0; i < TRANSACTIONS_PER_OPEN; i++) {
+            long amount = random.nextInt(2_000) - 1_000;
+            synchronized (ledger) {
+                int row = random.nextInt(ledger.getRowCount());
+                ledger.setLong(row, COL_BALANCE, Math.max(0, ledger.getLong(row, COL_BALANCE) + amount));
+                ledger.setInt(row, COL_TRANSACTIONS, (int) ledger.getLong(row, COL_TRANSACTIONS) + 1);
+            }
+        }
+
+        Player player = store.getComponent(ref, Player.getComponentType());
+        DataGridPage page = new DataGridPage(playerRef, "Economy Ledger", ledger);
+        UiTrace.open(player, ref, store, playerRef, page);
+    }
+}
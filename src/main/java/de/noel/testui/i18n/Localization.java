@@ -0,0 +1,208 @@
+package de.noel.testui.i18n;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Level;
+
+/**
+ * Localization - Per-locale message bundles, loaded once at startup.
+ *
+ * Bundles are UTF-8 properties files in the plugin jar: lang/&lt;locale&gt;.properties
+ * They contain two kinds of keys:
+ *
+ *   - Messages:  "form.saved=Saved! Name: {0}"
+ *                Compiled into a {@link MessageTemplate} at load time.
+ *
+ *   - UI labels: "label.FormPage.#Title.Text=Einstellungen"
+ *                Grouped per page into a ready-to-send list of
+ *                (selector, text) pairs, applied with {@link #applyLabels}.
+ *                The group is everything before the selector's '#', so a
+ *                page can keep labels of parts it shows later in their own
+ *                group: "label.OnboardingPage.OnboardingRules.#Rule1.Text".
+ *
+ * The .ui files already contain the default-locale (English) labels, so the
+ * default bundle has no label keys and pages send nothing extra for it.
+ * Missing messages fall back to the default locale, then to the key itself.
+ */
+public class Localization {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    private static final String LABEL_PREFIX = "label.";
+    private static final String[] NO_LABELS = new String[0];
+
+    private final String defaultLocale;
+    private final Map<String, Bundle> bundles = new HashMap<>();
+
+    // Loaded bundles, for matching language tags without allocating
+    private final Bundle[] bundleList;
+
+    /**
+     * Load the bundles for the given locales. The first one is the default.
+     */
+    public Localization(@Nonnull String... locales) {
+        this.defaultLocale = locales[0];
+        for (String locale : locales) {
+            bundles.put(locale, load(locale));
+        }
+        this.bundleList = bundles.values().toArray(new Bundle[0]);
+    }
+
+    /**
+     * Render a message in the player's language.
+     */
+    public String text(@Nonnull PlayerRef player, @Nonnull String key, @Nonnull Object... args) {
+        return text(bundle(player.getLanguage()), key, args);
+    }
+
+    /**
+     * Render a message in the default language (logs, server-wide notices).
+     */
+    public String text(@Nonnull String key, @Nonnull Object... args) {
+        return text(bundles.get(defaultLocale), key, args);
+    }
+
+    /**
+     * Render a message in a locale returned by {@link #localeOf}.
+     */
+    public String textIn(@Nonnull String locale, @Nonnull String key, @Nonnull Object... args) {
+        return text(bundles.getOrDefault(locale, bundles.get(defaultLocale)), key, args);
+    }
+
+    /**
+     * The loaded locale used for a player, e.g. "de" for a "de-AT" client.
+     * Useful as a cache key: there are only as many values as bundles.
+     */
+    public String localeOf(@Nonnull PlayerRef player) {
+        return bundle(player.getLanguage()).locale;
+    }
+
+    /**
+     * Translated labels of a page as (selector, text) pairs - empty for the default locale.
+     */
+    public String[] labels(@Nonnull String locale, @Nonnull String page) {
+        return bundles.getOrDefault(locale, bundles.get(defaultLocale)).labels.getOrDefault(page, NO_LABELS);
+    }
+
+    /**
+     * Set all translated labels of a page for the player's language.
+     * Does nothing for the default locale.
+     *
+     * @param page Label group used in the bundle keys, e.g. "FormPage"
+     */
+    public void applyLabels(@Nonnull UICommandBuilder commandBuilder, @Nonnull PlayerRef player, @Nonnull String page) {
+        String[] labels = labels(localeOf(player), page);
+        for (int i = 0; i < labels.length; i += 2) {
+            commandBuilder.set(labels[i], labels[i + 1]);
+        }
+    }
+
+    private String text(Bundle bundle, String key, Object[] args) {
+        MessageTemplate template = bundle.messages.get(key);
+        if (template == null) {
+            template = bundles.get(defaultLocale).messages.get(key);
+        }
+        return template != null ? template.render(args) : key;
+    }
+
+    /**
+     * Resolve a player's language tag to a bundle: exact match, then the
+     * language part ("de-AT" -> "de"), then the default locale.
+     *
+     * Nothing is cached per tag - clients can send any tag, and there are only
+     * a handful of bundles to compare against, so matching is cheaper than
+     * keeping an ever-growing map.
+     */
+    private Bundle bundle(@Nullable String languageTag) {
+        Bundle best = null;
+        if (languageTag != null) {
+            for (Bundle candidate : bundleList) {
+                // The longest matching locale is the most specific ("pt_br" before "pt")
+                if (matches(languageTag, candidate.locale)
+                        && (best == null || candidate.locale.length() > best.locale.length())) {
+                    best = candidate;
+                }
+            }
+        }
+        return best != null ? best : bundles.get(defaultLocale);
+    }
+
+    /**
+     * Whether a tag is the locale itself or a variant of it, ignoring case
+     * and treating '-' and '_' alike: "de", "DE" and "de-AT" match "de".
+     */
+    private static boolean matches(String tag, String locale) {
+        int length = locale.length();
+        if (tag.length() < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char a = tag.charAt(i);
+            char b = locale.charAt(i);
+            if (a == '-') {
+                a = '_';
+            }
+            if (b == '-') {
+                b = '_';
+            }
+            if (Character.toLowerCase(a) != Character.toLowerCase(b)) {
+                return false;
+            }
+        }
+        return tag.length() == length || tag.charAt(length) == '-' || tag.charAt(length) == '_';
+    }
+
+    private static Bundle load(String locale) {
+        Properties properties = new Properties();
+        String path = "lang/" + locale + ".properties";
+        try (InputStream in = Localization.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                LOGGER.at(Level.WARNING).log("Missing language bundle %s", path);
+            } else {
+                properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            LOGGER.at(Level.WARNING).withCause(e).log("Could not load language bundle %s", path);
+        }
+
+        Map<String, MessageTemplate> messages = new HashMap<>();
+        Map<String, List<String>> labels = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key);
+            if (key.startsWith(LABEL_PREFIX)) {
+                // label.<Page>.<selector> - the selector itself contains dots, and
+                // starts with '#'; the group (<Page>) may contain dots as well
+                int pageEnd = key.indexOf(".#", LABEL_PREFIX.length());
+                if (pageEnd > 0) {
+                    List<String> pairs = labels.computeIfAbsent(key.substring(LABEL_PREFIX.length(), pageEnd), page -> new ArrayList<>());
+                    pairs.add(key.substring(pageEnd + 1));
+                    pairs.add(value);
+                }
+            } else {
+                messages.put(key, MessageTemplate.compile(value));
+            }
+        }
+
+        Map<String, String[]> labelArrays = new HashMap<>();
+        labels.forEach((page, pairs) -> labelArrays.put(page, pairs.toArray(new String[0])));
+        return new Bundle(locale, messages, labelArrays);
+    }
+
+    /**
+     * Everything loaded for one locale. Immutable after loading.
+     */
+    private record Bundle(String locale, Map<String, MessageTemplate> messages, Map<String, String[]> labels) {
+    }
+}
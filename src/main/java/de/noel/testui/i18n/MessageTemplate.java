@@ -0,0 +1,102 @@
+package de.noel.testui.i18n;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MessageTemplate - A message like "Hello, {0}!" compiled once into parts.
+ *
+ * Rendering only walks the precompiled parts and appends them - no parsing,
+ * no String.format(). Templates without placeholders are rendered once at
+ * load time and returned as-is.
+ *
+ * Placeholders are {0}, {1}, ... (index into the arguments). There is no
+ * quoting or number formatting; arguments are appended with String.valueOf().
+ */
+public final class MessageTemplate {
+
+    // literals[i] is appended before argument args[argIndex[i]]; the last literal has no argument
+    private final String[] literals;
+    private final int[] argIndex;
+    private final String constant;
+    private final int sizeHint;
+
+    private MessageTemplate(String[] literals, int[] argIndex) {
+        this.literals = literals;
+        this.argIndex = argIndex;
+        this.constant = argIndex.length == 0 ? literals[0] : null;
+
+        int size = 0;
+        for (String literal : literals) {
+            size += literal.length();
+        }
+        this.sizeHint = size + argIndex.length * 16;
+    }
+
+    /**
+     * Compile a pattern. Text that only looks like a placeholder
+     * (e.g. "{name}") is kept literally.
+     */
+    public static MessageTemplate compile(@Nonnull String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> args = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int close = c == '{' ? pattern.indexOf('}', i) : -1;
+            int index = close > i + 1 ? parseIndex(pattern, i + 1, close) : -1;
+            if (index >= 0) {
+                literals.add(literal.toString());
+                args.add(index);
+                literal.setLength(0);
+                i = close + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+
+        int[] argIndex = new int[args.size()];
+        for (int a = 0; a < argIndex.length; a++) {
+            argIndex[a] = args.get(a);
+        }
+        return new MessageTemplate(literals.toArray(new String[0]), argIndex);
+    }
+
+    private static int parseIndex(String pattern, int from, int to) {
+        if (to - from > 2) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = pattern.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Render the template. Missing arguments render as an empty string.
+     */
+    public String render(@Nonnull Object... args) {
+        if (constant != null) {
+            return constant;
+        }
+        StringBuilder out = new StringBuilder(sizeHint);
+        for (int i = 0; i < argIndex.length; i++) {
+            out.append(literals[i]);
+            int index = argIndex[i];
+            if (index < args.length) {
+                out.append(args[index]);
+            }
+        }
+        return out.append(literals[literals.length - 1]).toString();
+    }
+}
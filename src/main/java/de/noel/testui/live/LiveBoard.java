@@ -0,0 +1,198 @@
+package de.noel.testui.live;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import de.noel.testui.fragments.RecordedCommands;
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+
+/**
+ * LiveBoard - Live displays shared by every page that shows them.
+ *
+ * The naive way to show a ticking timer is a cmd.set() per viewer per tick.
+ * A board instead:
+ *
+ *   1. Knows each display's {@link Trajectory}, so it can compute when the
+ *      next visible step change happens
+ *   2. Sleeps until then - one scheduled task for all displays, none at all
+ *      while nobody is watching
+ *   3. Builds the changed commands ONCE and hands the same list to every viewer
+ *   4. Only sends a correction when a new trajectory (or a measured value)
+ *      actually changes what is shown
+ *
+ * Pages write the current state in build() via {@link #writeCurrent} and
+ * subscribe a {@link Viewer} that forwards pushes with sendUpdate().
+ */
+public final class LiveBoard {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    // Changes this close together are sent in one push
+    private static final long COALESCE_MILLIS = 20;
+
+    /**
+     * Receives the commands for displays whose shown value changed.
+     * The same RecordedCommands instance goes to every viewer - only replay it.
+     */
+    @FunctionalInterface
+    public interface Viewer {
+        void push(@Nonnull RecordedCommands changes);
+    }
+
+    // Epoch millis - the system clock, or a fixed one for reproducible output
+    private final LongSupplier clock;
+
+    private final List<LiveDisplay> displays = new ArrayList<>();
+    private final Set<Viewer> viewers = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> pending;
+    private long pendingAt = Long.MAX_VALUE;
+
+    public LiveBoard() {
+        this(System::currentTimeMillis);
+    }
+
+    public LiveBoard(@Nonnull LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Start pushing changes; ticks run on the given scheduler.
+     */
+    public synchronized void start(@Nonnull ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+        reschedule(clock.getAsLong());
+    }
+
+    public synchronized <D extends LiveDisplay> D add(@Nonnull D display) {
+        displays.add(display);
+        return display;
+    }
+
+    /**
+     * Write the current value of every display, e.g. in a page's build().
+     */
+    public void writeCurrent(@Nonnull UICommandBuilder commandBuilder) {
+        RecordedCommands current = new RecordedCommands();
+        synchronized (this) {
+            long now = clock.getAsLong();
+            for (LiveDisplay display : displays) {
+                display.write(display.keyAt(now), current);
+            }
+        }
+        current.replay(commandBuilder);
+    }
+
+    public void subscribe(@Nonnull Viewer viewer) {
+        if (viewers.add(viewer)) {
+            synchronized (this) {
+                reschedule(clock.getAsLong());
+            }
+        }
+    }
+
+    /**
+     * Stop pushing to a viewer. Safe to call more than once.
+     */
+    public void unsubscribe(@Nonnull Viewer viewer) {
+        viewers.remove(viewer);
+    }
+
+    public int getViewerCount() {
+        return viewers.size();
+    }
+
+    /**
+     * Replace a display's movement (restart, pause, new duration, ...).
+     * Viewers only get an update if the shown value changes right now;
+     * otherwise just the next wake-up time moves.
+     */
+    public synchronized void retarget(@Nonnull LiveDisplay display, @Nonnull Trajectory trajectory) {
+        display.setTrajectory(trajectory);
+        reschedule(clock.getAsLong());
+    }
+
+    /**
+     * Report the real value of a display, e.g. measured progress.
+     *
+     * Deviations smaller than one visible step are ignored - the prediction
+     * is still good enough. Larger ones rebase the trajectory (same speed,
+     * same final value) so viewers see the corrected value.
+     *
+     * @return true if a correction was needed
+     */
+    public synchronized boolean correct(@Nonnull LiveDisplay display, double actual) {
+        long now = clock.getAsLong();
+        Trajectory trajectory = display.getTrajectory();
+        if (Math.abs(actual - trajectory.valueAt(now)) < display.getStep()) {
+            return false;
+        }
+        retarget(display, trajectory.rebase(actual, now));
+        return true;
+    }
+
+    private void tick() {
+        RecordedCommands changes = null;
+        synchronized (this) {
+            pending = null;
+            pendingAt = Long.MAX_VALUE;
+            long now = clock.getAsLong() + COALESCE_MILLIS;
+            for (LiveDisplay display : displays) {
+                long key = display.keyAt(now);
+                if (key != display.sentKey) {
+                    display.sentKey = key;
+                    if (changes == null) {
+                        changes = new RecordedCommands();
+                    }
+                    display.write(key, changes);
+                }
+            }
+            reschedule(now);
+        }
+
+        if (changes == null) {
+            return;
+        }
+        for (Viewer viewer : viewers) {
+            try {
+                viewer.push(changes);
+            } catch (RuntimeException e) {
+                LOGGER.at(Level.WARNING).withCause(e).log("Live update failed - dropping viewer");
+                viewers.remove(viewer);
+            }
+        }
+    }
+
+    /**
+     * Wake up at the next visible change of any display. Caller holds the lock.
+     */
+    private void reschedule(long now) {
+        if (scheduler == null || viewers.isEmpty()) {
+            return;
+        }
+        long next = Long.MAX_VALUE;
+        for (LiveDisplay display : displays) {
+            // Not sent yet (new viewer after a quiet period, retarget, ...) - push right away
+            long at = display.keyAt(now) != display.sentKey ? now : display.nextChangeAt(now);
+            next = Math.min(next, at);
+        }
+        if (next == Long.MAX_VALUE || next >= pendingAt) {
+            return;
+        }
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pendingAt = next;
+        long delay = Math.max(0, next - COALESCE_MILLIS - clock.getAsLong());
+        pending = scheduler.schedule(this::tick, delay, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,76 @@
+package de.noel.testui.live;
+
+import de.noel.testui.fragments.RecordedCommands;
+import javax.annotation.Nonnull;
+
+/**
+ * LiveDisplay - A UI element that shows a moving value.
+ *
+ * The value follows a {@link Trajectory}; the element only shows it in steps
+ * (whole seconds, whole percent, ...). Because the trajectory is known, the
+ * display can tell exactly when the next visible step happens - so the
+ * {@link LiveBoard} sends an update then, and not on every tick.
+ *
+ * Step numbers ("keys") are floor(value / step); subclasses turn a key into
+ * UI commands.
+ */
+public abstract class LiveDisplay {
+
+    protected final String selector;
+    private final double step;
+    private volatile Trajectory trajectory;
+
+    // Last key pushed to viewers - only touched by the board, under its lock
+    long sentKey = Long.MIN_VALUE;
+
+    protected LiveDisplay(@Nonnull String selector, double step, @Nonnull Trajectory trajectory) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("step must be > 0");
+        }
+        this.selector = selector;
+        this.step = step;
+        this.trajectory = trajectory;
+    }
+
+    /**
+     * Write the UI commands showing step {@code key}.
+     */
+    protected abstract void write(long key, @Nonnull RecordedCommands out);
+
+    @Nonnull
+    public Trajectory getTrajectory() {
+        return trajectory;
+    }
+
+    public double getStep() {
+        return step;
+    }
+
+    void setTrajectory(@Nonnull Trajectory trajectory) {
+        this.trajectory = trajectory;
+    }
+
+    long keyAt(long nowMillis) {
+        return (long) Math.floor(trajectory.valueAt(nowMillis) / step);
+    }
+
+    /**
+     * When does the shown step change next? Long.MAX_VALUE if it never does.
+     */
+    long nextChangeAt(long nowMillis) {
+        Trajectory current = trajectory;
+        if (!current.isMovingAt(nowMillis)) {
+            return Long.MAX_VALUE;
+        }
+        long key = keyAt(nowMillis);
+        long at = current.ratePerMilli() > 0
+            ? current.timeOf((key + 1) * step, nowMillis)
+            // Counting down: the step changes once the value drops below its lower edge
+            : current.timeOf(key * step, nowMillis);
+        if (at == Long.MAX_VALUE) {
+            return at;
+        }
+        // Never schedule "now" again - rounding could otherwise spin on the same step
+        return Math.max(at + 1, nowMillis + 1);
+    }
+}
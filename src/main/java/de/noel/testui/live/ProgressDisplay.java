@@ -0,0 +1,43 @@
+package de.noel.testui.live;
+
+import de.noel.testui.fragments.RecordedCommands;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * ProgressDisplay - A ProgressBar (value 0..1) with an optional percent label.
+ *
+ * With 100 steps, a bar filling over 10 minutes is updated every 6 seconds -
+ * regardless of the server tick rate.
+ */
+public class ProgressDisplay extends LiveDisplay {
+
+    private final String labelSelector;
+    private final int steps;
+
+    /**
+     * @param barSelector   The ProgressBar element, e.g. "#EventBar"
+     * @param labelSelector Label showing "42%", or null for none
+     * @param steps         Visible resolution (100 = whole percent)
+     * @param trajectory    Progress from 0 to 1
+     */
+    public ProgressDisplay(
+        @Nonnull String barSelector,
+        @Nullable String labelSelector,
+        int steps,
+        @Nonnull Trajectory trajectory
+    ) {
+        super(barSelector, 1.0 / steps, trajectory);
+        this.labelSelector = labelSelector;
+        this.steps = steps;
+    }
+
+    @Override
+    protected void write(long key, @Nonnull RecordedCommands out) {
+        long clamped = Math.min(Math.max(key, 0), steps);
+        out.set(selector + ".Value", (float) clamped / steps);
+        if (labelSelector != null) {
+            out.set(labelSelector + ".Text", (clamped * 100 / steps) + "%");
+        }
+    }
+}
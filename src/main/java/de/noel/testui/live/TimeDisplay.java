@@ -0,0 +1,53 @@
+package de.noel.testui.live;
+
+import de.noel.testui.fragments.RecordedCommands;
+import javax.annotation.Nonnull;
+import java.util.function.LongFunction;
+
+/**
+ * TimeDisplay - A label showing a duration in milliseconds (countdown, uptime, ...).
+ *
+ * The resolution is the visible step: a countdown showing seconds changes
+ * once per second, an uptime showing minutes once per minute.
+ */
+public class TimeDisplay extends LiveDisplay {
+
+    private final long resolutionMillis;
+    private final LongFunction<String> format;
+
+    public TimeDisplay(
+        @Nonnull String labelSelector,
+        long resolutionMillis,
+        @Nonnull LongFunction<String> format,
+        @Nonnull Trajectory trajectory
+    ) {
+        super(labelSelector, resolutionMillis, trajectory);
+        this.resolutionMillis = resolutionMillis;
+        this.format = format;
+    }
+
+    /**
+     * "m:ss", counting the remaining milliseconds of {@code trajectory} down.
+     */
+    public static TimeDisplay countdown(@Nonnull String labelSelector, @Nonnull Trajectory trajectory) {
+        return new TimeDisplay(labelSelector, 1000, millis -> {
+            long seconds = millis / 1000;
+            return (seconds / 60) + ":" + (seconds % 60 < 10 ? "0" : "") + (seconds % 60);
+        }, trajectory);
+    }
+
+    /**
+     * "3h 24m" since {@code startMillis}.
+     */
+    public static TimeDisplay uptime(@Nonnull String labelSelector, long startMillis) {
+        return new TimeDisplay(labelSelector, 60_000, millis -> {
+            long minutes = millis / 60_000;
+            return (minutes / 60) + "h " + (minutes % 60) + "m";
+        }, Trajectory.counting(startMillis));
+    }
+
+    @Override
+    protected void write(long key, @Nonnull RecordedCommands out) {
+        out.set(selector + ".Text", format.apply(Math.max(key, 0) * resolutionMillis));
+    }
+}
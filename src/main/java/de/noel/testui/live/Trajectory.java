@@ -0,0 +1,87 @@
+package de.noel.testui.live;
+
+/**
+ * Trajectory - A value that moves linearly over time.
+ *
+ * Instead of "the value is 42 now", a trajectory says "the value goes from
+ * {@code from} at {@code startMillis} with {@code ratePerMilli} until
+ * {@code endMillis}, then stays". Anyone holding it can compute the value at
+ * any time without asking again - it only has to be replaced when the
+ * movement itself changes (paused, sped up, restarted, ...).
+ *
+ * @param from         Value at startMillis
+ * @param ratePerMilli Change per millisecond (negative = counting down)
+ * @param startMillis  Time the movement starts (epoch millis)
+ * @param endMillis    Time the movement stops; Long.MAX_VALUE = never
+ */
+public record Trajectory(double from, double ratePerMilli, long startMillis, long endMillis) {
+
+    /**
+     * A value that does not move.
+     */
+    public static Trajectory fixed(double value) {
+        return new Trajectory(value, 0, 0, 0);
+    }
+
+    /**
+     * Go from {@code from} to {@code to} in {@code durationMillis}, starting at {@code startMillis}.
+     */
+    public static Trajectory between(double from, double to, long startMillis, long durationMillis) {
+        if (durationMillis <= 0) {
+            return fixed(to);
+        }
+        return new Trajectory(from, (to - from) / durationMillis, startMillis, startMillis + durationMillis);
+    }
+
+    /**
+     * Count milliseconds up from {@code startMillis}, forever (e.g. uptime).
+     */
+    public static Trajectory counting(long startMillis) {
+        return new Trajectory(0, 1, startMillis, Long.MAX_VALUE);
+    }
+
+    public double valueAt(long nowMillis) {
+        long t = Math.min(Math.max(nowMillis, startMillis), endMillis);
+        return from + ratePerMilli * (t - startMillis);
+    }
+
+    /**
+     * Does the value still change after {@code nowMillis}?
+     */
+    public boolean isMovingAt(long nowMillis) {
+        return ratePerMilli != 0 && nowMillis < endMillis;
+    }
+
+    /**
+     * First time at or after {@code nowMillis} when the value reaches {@code value},
+     * or Long.MAX_VALUE if it never does.
+     */
+    public long timeOf(double value, long nowMillis) {
+        if (ratePerMilli == 0) {
+            return Long.MAX_VALUE;
+        }
+        double offset = (value - from) / ratePerMilli;
+        if (offset < 0 || startMillis + offset > endMillis) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(nowMillis, startMillis + (long) Math.ceil(offset));
+    }
+
+    /**
+     * Same speed and same final value, but passing through {@code value} at
+     * {@code nowMillis} - the end time moves instead. Used to correct drift.
+     */
+    public Trajectory rebase(double value, long nowMillis) {
+        if (!isMovingAt(nowMillis)) {
+            return fixed(value);
+        }
+        if (endMillis == Long.MAX_VALUE) {
+            return new Trajectory(value, ratePerMilli, nowMillis, Long.MAX_VALUE);
+        }
+        double remaining = (valueAt(endMillis) - value) / ratePerMilli;
+        if (remaining <= 0) {
+            return fixed(value);
+        }
+        return new Trajectory(value, ratePerMilli, nowMillis, nowMillis + Math.round(remaining));
+    }
+}
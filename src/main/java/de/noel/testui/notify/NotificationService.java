@@ -0,0 +1,277 @@
+package de.noel.testui.notify;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.server.core.util.EventTitleUtil;
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * NotificationService - Non-modal toast notifications built on EventTitleUtil.
+ *
+ * Sending a title for every reward is too much: a reward loop can easily
+ * produce dozens of messages per second for a single player. Instead of
+ * sending right away, this service collects everything into a small
+ * per-player outbox and flushes it on a fixed interval:
+ *
+ *   1. Counters with the same label are merged ("+5 coins" x20 -> "+100 coins")
+ *   2. Repeated identical titles are collapsed into one ("Level up! (x3)")
+ *   3. Each player gets at most one title per minimum interval - distinct
+ *      titles wait in a small queue and are shown one after another
+ *   4. Server-wide notices are built once and handed to every world
+ *
+ * All public methods are thread-safe and cheap - they only touch the outbox.
+ * Titles are sent on the world thread of the receiving player.
+ */
+public class NotificationService {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    /** How often pending outboxes are checked. */
+    private static final long FLUSH_INTERVAL_MS = 250;
+
+    /** Upper bound for queued server-wide notices; the oldest ones are dropped first. */
+    private static final int MAX_PENDING_BROADCASTS = 16;
+
+    /** Upper bound for queued distinct titles per player; the oldest ones are dropped first. */
+    private static final int MAX_PENDING_TITLES = 8;
+
+    private final long minIntervalNanos;
+    private final Map<UUID, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final ArrayDeque<Toast> broadcasts = new ArrayDeque<>();
+    private long nextBroadcastNanos;
+
+    /**
+     * @param minIntervalMillis Minimum time between two titles shown to the same player
+     */
+    public NotificationService(long minIntervalMillis) {
+        this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMillis);
+        // nanoTime() may be negative - start "one interval ago" so the first notice is due
+        this.nextBroadcastNanos = System.nanoTime() - minIntervalNanos;
+    }
+
+    /**
+     * Start flushing outboxes on the given scheduler.
+     */
+    public void start(@Nonnull ScheduledExecutorService scheduler) {
+        scheduler.scheduleWithFixedDelay(this::flushSafely, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Add an amount to a counter, e.g. add(player, "coins", 5).
+     * Counters with the same label are summed until the next flush.
+     */
+    public void add(@Nonnull PlayerRef player, @Nonnull String label, long amount) {
+        outbox(player).add(label, amount);
+    }
+
+    /**
+     * Queue a title for one player. Identical pending titles are collapsed,
+     * distinct ones are shown one per interval.
+     */
+    public void notify(@Nonnull PlayerRef player, @Nonnull String title, @Nonnull String subtitle) {
+        outbox(player).title(title, subtitle);
+    }
+
+    /**
+     * Queue a server-wide notice. Identical notices that are still pending are collapsed.
+     */
+    public void broadcast(@Nonnull String title, @Nonnull String subtitle) {
+        synchronized (broadcasts) {
+            Toast last = broadcasts.peekLast();
+            if (last != null && last.title.equals(title) && last.subtitle.equals(subtitle)) {
+                return;
+            }
+            if (broadcasts.size() == MAX_PENDING_BROADCASTS) {
+                broadcasts.pollFirst();
+            }
+            broadcasts.addLast(new Toast(title, subtitle));
+        }
+    }
+
+    /**
+     * Drop everything queued for a player (call this when the player disconnects).
+     */
+    public void forget(@Nonnull UUID playerId) {
+        outboxes.remove(playerId);
+    }
+
+    private Outbox outbox(PlayerRef player) {
+        return outboxes.computeIfAbsent(player.getUuid(), id -> new Outbox(player, System.nanoTime() - minIntervalNanos));
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Must not escape: an exception would cancel the scheduled flush
+            LOGGER.at(Level.WARNING).withCause(e).log("Could not send notifications");
+        }
+    }
+
+    /**
+     * Send everything that is due. Runs on the scheduler thread.
+     */
+    void flush() {
+        long now = System.nanoTime();
+
+        for (Outbox outbox : outboxes.values()) {
+            Toast toast = outbox.drain(now, minIntervalNanos);
+            if (toast != null) {
+                sendToPlayer(outbox.player, Message.raw(toast.title), Message.raw(toast.subtitle));
+            }
+        }
+
+        Toast notice = null;
+        synchronized (broadcasts) {
+            if (now - nextBroadcastNanos >= 0 && !broadcasts.isEmpty()) {
+                notice = broadcasts.pollFirst();
+                nextBroadcastNanos = now + minIntervalNanos;
+            }
+        }
+        if (notice != null) {
+            // One Message pair for the whole server instead of one per player
+            Message title = Message.raw(notice.title);
+            Message subtitle = Message.raw(notice.subtitle);
+            for (World world : Universe.get().getWorlds().values()) {
+                world.execute(() -> {
+                    for (PlayerRef player : world.getPlayerRefs()) {
+                        EventTitleUtil.showEventTitleToPlayer(player, title, subtitle, true);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Hand a title to the player's world thread. Players that already left are skipped.
+     */
+    private static void sendToPlayer(PlayerRef player, Message title, Message subtitle) {
+        Ref<EntityStore> ref = player.getReference();
+        if (ref == null || !ref.isValid()) {
+            return;
+        }
+        World world = ref.getStore().getExternalData().getWorld();
+        world.execute(() -> {
+            if (ref.isValid()) {
+                EventTitleUtil.showEventTitleToPlayer(player, title, subtitle, false);
+            }
+        });
+    }
+
+    /**
+     * A title/subtitle pair that is ready to be shown.
+     */
+    private record Toast(String title, String subtitle) {
+    }
+
+    /**
+     * A queued title and how often it was sent while pending.
+     */
+    private static final class PendingTitle {
+        final String title;
+        final String subtitle;
+        int repeats = 1;
+
+        PendingTitle(String title, String subtitle) {
+            this.title = title;
+            this.subtitle = subtitle;
+        }
+    }
+
+    /**
+     * Per-player buffer. Everything is guarded by the outbox's own lock,
+     * so producers for different players never contend.
+     */
+    private static final class Outbox {
+        final PlayerRef player;
+
+        // Insertion order = display order, so the first counter becomes the headline
+        private final LinkedHashMap<String, long[]> counters = new LinkedHashMap<>();
+        private final ArrayDeque<PendingTitle> titles = new ArrayDeque<>();
+        private long nextSendNanos;
+
+        Outbox(PlayerRef player, long nextSendNanos) {
+            this.player = player;
+            this.nextSendNanos = nextSendNanos;
+        }
+
+        synchronized void add(String label, long amount) {
+            long[] total = counters.get(label);
+            if (total == null) {
+                counters.put(label, new long[]{amount});
+            } else {
+                total[0] += amount;
+            }
+        }
+
+        synchronized void title(String title, String subtitle) {
+            for (PendingTitle pending : titles) {
+                if (pending.title.equals(title) && pending.subtitle.equals(subtitle)) {
+                    pending.repeats++;
+                    return;
+                }
+            }
+            if (titles.size() == MAX_PENDING_TITLES) {
+                titles.pollFirst();
+            }
+            titles.addLast(new PendingTitle(title, subtitle));
+        }
+
+        /**
+         * Turn the oldest title (plus all counters) into one toast, or return
+         * null if there is nothing to send or the player was notified too recently.
+         */
+        synchronized Toast drain(long now, long minIntervalNanos) {
+            if ((titles.isEmpty() && counters.isEmpty()) || now - nextSendNanos < 0) {
+                return null;
+            }
+
+            StringBuilder summary = new StringBuilder();
+            Iterator<Map.Entry<String, long[]>> it = counters.entrySet().iterator();
+
+            String headline;
+            String details;
+            PendingTitle title = titles.pollFirst();
+            if (title != null) {
+                headline = title.repeats > 1 ? title.title + " (x" + title.repeats + ")" : title.title;
+                summary.append(title.subtitle);
+            } else {
+                Map.Entry<String, long[]> first = it.next();
+                headline = formatCounter(new StringBuilder(), first.getKey(), first.getValue()[0]).toString();
+            }
+            while (it.hasNext()) {
+                Map.Entry<String, long[]> entry = it.next();
+                if (!summary.isEmpty()) {
+                    summary.append(", ");
+                }
+                formatCounter(summary, entry.getKey(), entry.getValue()[0]);
+            }
+            details = summary.toString();
+
+            counters.clear();
+            nextSendNanos = now + minIntervalNanos;
+            return new Toast(headline, details);
+        }
+
+        private static StringBuilder formatCounter(StringBuilder out, String label, long amount) {
+            if (amount >= 0) {
+                out.append('+');
+            }
+            return out.append(amount).append(' ').append(label);
+        }
+    }
+}
@@ -6,17 +6,28 @@ import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
-import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
-import com.hypixel.hytale.protocol.packets.interface_.Page;
 import com.hypixel.hytale.server.core.Message;
-import com.hypixel.hytale.server.core.entity.entities.Player;
-import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCustomUIPage;
-import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import de.noel.testui.TestUIPlugin;
+import de.noel.testui.async.AsyncInteractiveCustomUIPage;
+import de.noel.testui.bindings.Binding;
+import de.noel.testui.bindings.BindingRegistry;
+import de.noel.testui.diagnostics.UiTrace;
+import de.noel.testui.drafts.DraftCache;
+import de.noel.testui.drafts.FormDraft;
+import de.noel.testui.i18n.Localization;
+import de.noel.testui.payload.PayloadMeter;
+import de.noel.testui.session.PageSessions;
+import de.noel.testui.session.RestorablePage;
 import javax.annotation.Nonnull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 /**
  * FormPage - A page with input fields and checkboxes.
@@ -26,22 +37,37 @@ import javax.annotation.Nonnull;
  *   2. Reading checkbox states
  *   3. Using the @-prefix to bind input values to EventData
  *   4. Handling different button actions (Save vs Cancel)
+ *   5. Keeping unsaved input as a draft when the page is dismissed
+ *   6. Doing slow work (saving) off the world thread
  *
  * KEY CONCEPT: The @-prefix
  *   - In the Codec: "@PlayerName" means "this value comes from an input"
- *   - In EventData.append(): "@PlayerName", "#NameInput.Value" binds the input value
+ *   - In Binding.with(): "@PlayerName", "#NameInput.Value" binds the input value
  *   - When the event fires, the current input value is automatically included
+ *
+ * DRAFTS:
+ *   - Every input also sends a "Draft" event on ValueChanged
+ *   - The draft is only staged in the DraftCache (debounced, no write per keystroke)
+ *   - On the next open, build() restores the draft into the inputs
+ *
+ * SESSIONS:
+ *   - The open form and its draft are captured in PageSessions, so the form
+ *     reopens with the input after a reconnect or restart
+ *   - Save, Cancel and ESC end the session
  */
-public class FormPage extends InteractiveCustomUIPage<FormPage.FormEventData> {
+public class FormPage extends AsyncInteractiveCustomUIPage<FormPage.FormEventData> implements RestorablePage {
+
+    public static final String SESSION_TYPE = "form";
 
     /**
      * FormEventData - Contains all data from the form.
      *
      * Fields:
-     *   - action: Which button was clicked ("Save" or "Cancel")
+     *   - action: Which button was clicked ("Save" or "Cancel"), or "Draft" for input changes
      *   - playerName: Value from the text input field
      *   - notifications: State of the notifications checkbox
      *   - coordinates: State of the coordinates checkbox
+     *   - binding: Id of the binding that fired (see BindingRegistry)
      *
      * The CODEC defines how to serialize/deserialize each field.
      */
@@ -50,6 +76,7 @@ public class FormPage extends InteractiveCustomUIPage<FormPage.FormEventData> {
         public String playerName;       // Text input value
         public boolean notifications;   // Checkbox state
         public boolean coordinates;     // Checkbox state
+        public String binding;          // Binding id
 
         /**
          * Codec for serializing/deserializing the event data.
@@ -79,11 +106,51 @@ public class FormPage extends InteractiveCustomUIPage<FormPage.FormEventData> {
                 // Input binding - checkbox value
                 .append(new KeyedCodec<>("@Coordinates", Codec.BOOLEAN), (FormEventData o, Boolean v) -> o.coordinates = v, (FormEventData o) -> o.coordinates)
                 .add()
+            // Binding id - set by the BindingRegistry
+            .append(new KeyedCodec<>(BindingRegistry.ID_KEY, Codec.STRING), (FormEventData o, String v) -> o.binding = v, (FormEventData o) -> o.binding)
+            .add()
             .build();
     }
 
-    public FormPage(@Nonnull PlayerRef playerRef) {
+    // Unsaved input per player, shared by all FormPage instances
+    private final DraftCache<FormDraft> drafts;
+
+    // Bindings already on the client - world thread only
+    private final BindingRegistry bindings = new BindingRegistry();
+
+    public FormPage(@Nonnull PlayerRef playerRef, @Nonnull DraftCache<FormDraft> drafts) {
         super(playerRef, CustomPageLifetime.CanDismissOrCloseThroughInteraction, FormEventData.CODEC);
+        this.drafts = drafts;
+    }
+
+    /**
+     * Reopen the form from a saved session: the draft goes back into the
+     * DraftCache, and build() restores it as usual.
+     */
+    @Nonnull
+    public static FormPage restore(@Nonnull PlayerRef playerRef, @Nonnull DataInput in) throws IOException {
+        DraftCache<FormDraft> drafts = TestUIPlugin.get().getFormDrafts();
+        if (in.readBoolean()) {
+            drafts.stage(playerRef.getUuid(), new FormDraft(in.readUTF(), in.readBoolean(), in.readBoolean()));
+        }
+        return new FormPage(playerRef, drafts);
+    }
+
+    @Nonnull
+    @Override
+    public String getSessionType() {
+        return SESSION_TYPE;
+    }
+
+    @Override
+    public void writeSession(@Nonnull DataOutput out) throws IOException {
+        FormDraft draft = drafts.get(playerRef.getUuid());
+        out.writeBoolean(draft != null);
+        if (draft != null) {
+            out.writeUTF(draft.playerName());
+            out.writeBoolean(draft.notifications());
+            out.writeBoolean(draft.coordinates());
+        }
     }
 
     @Override
@@ -93,53 +160,124 @@ public class FormPage extends InteractiveCustomUIPage<FormPage.FormEventData> {
         @Nonnull UIEventBuilder eventBuilder,
         @Nonnull Store<EntityStore> store
     ) {
+        UiTrace.Span trace = UiTrace.build(this, playerRef);
+
         // Load the form UI
         commandBuilder.append("Pages/FormPage.ui");
 
-        // Bind Save button with ALL input values
-        // The EventData captures:
-        //   - "Action" = "Save" (explicit value)
-        //   - "@PlayerName" = current value of #NameInput TextField
-        //   - "@Notifications" = current value of the notifications checkbox
-        //   - "@Coordinates" = current value of the coordinates checkbox
-        eventBuilder.addEventBinding(
-            CustomUIEventBindingType.Activating,
-            "#SaveButton",
-            new EventData()
-                .append("Action", "Save")
-                .append("@PlayerName", "#NameInput.Value")                    // Read TextField value
-                .append("@Notifications", "#NotifyOption #CheckBox.Value")   // Read CheckBox value
-                .append("@Coordinates", "#CoordsOption #CheckBox.Value")     // Read CheckBox value
-        );
-
-        // Bind Cancel button - only needs action, no input values
-        eventBuilder.addEventBinding(
-            CustomUIEventBindingType.Activating,
-            "#CancelButton",
-            new EventData().append("Action", "Cancel")
-        );
+        // Translated labels (nothing is sent for the default language)
+        TestUIPlugin.get().getLocalization().applyLabels(commandBuilder, playerRef, "FormPage");
+
+        // Restore unsaved input from the last time the form was dismissed
+        FormDraft draft = drafts.get(playerRef.getUuid());
+        if (draft != null) {
+            commandBuilder.set("#NameInput.Value", draft.playerName());
+            commandBuilder.set("#NotifyOption #CheckBox.Value", draft.notifications());
+            commandBuilder.set("#CoordsOption #CheckBox.Value", draft.coordinates());
+        }
+
+        // Reopen the form if the player disconnects now
+        TestUIPlugin.get().getPageSessions().capture(playerRef, this);
+
+        // A fresh build means the client has no bindings yet
+        bindings.reset();
+        bindings.sync(eventBuilder, "form", List.of(
+            // Save button with ALL input values:
+            //   - "Action" = "Save" (explicit value)
+            //   - "@PlayerName" = current value of #NameInput TextField
+            //   - "@Notifications" / "@Coordinates" = current values of the checkboxes
+            withInputs(Binding.activating("#SaveButton").with("Action", "Save")),
+
+            // Cancel button - only needs action, no input values
+            Binding.activating("#CancelButton").with("Action", "Cancel"),
+
+            // Send the current input on every change so it can be kept as a draft.
+            // Value changes never lock the interface: typing must not wait for the server
+            withInputs(Binding.valueChanged("#NameInput").with("Action", "Draft")),
+            withInputs(Binding.valueChanged("#NotifyOption #CheckBox").with("Action", "Draft")),
+            withInputs(Binding.valueChanged("#CoordsOption #CheckBox").with("Action", "Draft"))
+        ));
+
+        // Count commands/bytes and check them against the page's budget
+        trace.end(PayloadMeter.build(this, commandBuilder, eventBuilder));
     }
 
+    /**
+     * Handle form events.
+     *
+     * Runs on the world thread, so only cheap work happens here directly.
+     * Saving is handed to supplyAsync() (it stands in for writing the
+     * settings to a database or web service) and the page is closed once
+     * that finished - back on the world thread.
+     */
     @Override
-    public void handleDataEvent(
-        @Nonnull Ref<EntityStore> ref,
-        @Nonnull Store<EntityStore> store,
-        @Nonnull FormEventData data
-    ) {
-        Player player = store.getComponent(ref, Player.getComponentType());
+    protected CompletionStage<PageAction> handleDataEventAsync(@Nonnull FormEventData data) {
+        // Ignore bindings from an earlier build that are still attached on the client
+        if (!bindings.accept(data.binding)) {
+            return done(null);
+        }
+
+        // Input changed - only stage the draft, the page stays open
+        if ("Draft".equals(data.action)) {
+            String name = data.playerName != null ? data.playerName : "";
+            drafts.stage(playerRef.getUuid(), new FormDraft(name, data.notifications, data.coordinates));
+            TestUIPlugin.get().getPageSessions().capture(playerRef, this);
+            return done(null);
+        }
 
         // Handle different actions
         if ("Save".equals(data.action)) {
-            // data.playerName contains the text the user typed
-            // data.notifications and data.coordinates contain checkbox states
-            String name = data.playerName != null ? data.playerName : "unnamed";
-            playerRef.sendMessage(Message.raw("Saved! Name: " + name +
-                ", Notifications: " + data.notifications +
-                ", Coordinates: " + data.coordinates));
+            // If the save is rejected or fails, nothing is closed or discarded:
+            // the page stays open with the player's input, and the draft and
+            // session are kept
+            return supplyAsync(() -> {
+                // data.playerName contains the text the user typed
+                // data.notifications and data.coordinates contain checkbox states
+                // The message text comes from the player's language bundle
+                Localization localization = TestUIPlugin.get().getLocalization();
+                String name = data.playerName != null ? data.playerName : localization.text(playerRef, "form.unnamed");
+                playerRef.sendMessage(Message.raw(
+                    localization.text(playerRef, "form.saved", name, data.notifications, data.coordinates)));
+                return finish();
+            });
         }
+
         // For "Cancel", we just close without doing anything
+        return done(finish());
+    }
 
-        // Close the page
-        player.getPageManager().setPage(ref, store, Page.None);
+    /**
+     * End the edit on the world thread: the draft and session are no longer
+     * needed, then the page closes.
+     */
+    private PageAction finish() {
+        PageAction close = close();
+        return (ref, store) -> {
+            drafts.discard(playerRef.getUuid());
+            TestUIPlugin.get().getPageSessions().endNow(playerRef);
+            close.apply(ref, store);
+        };
+    }
+
+    /**
+     * Called when the player dismisses the page (ESC).
+     * Commit the pending draft right away instead of waiting for the debounce.
+     * The draft stays, but the form is not reopened on the next join.
+     */
+    @Override
+    public void onDismiss(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store) {
+        super.onDismiss(ref, store);
+        drafts.flush(playerRef.getUuid());
+        TestUIPlugin.get().getPageSessions().end(playerRef);
+    }
+
+    /**
+     * Add the current input values to a binding's EventData.
+     */
+    private static Binding withInputs(Binding binding) {
+        return binding
+            .with("@PlayerName", "#NameInput.Value")                    // Read TextField value
+            .with("@Notifications", "#NotifyOption #CheckBox.Value")   // Read CheckBox value
+            .with("@Coordinates", "#CoordsOption #CheckBox.Value");    // Read CheckBox value
     }
 }
@@ -4,6 +4,7 @@ import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
 import com.hypixel.hytale.server.core.entity.entities.player.pages.BasicCustomUIPage;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import de.noel.testui.TestUIPlugin;
 
 import javax.annotation.Nonnull;
 
@@ -19,6 +20,7 @@ public class HelloWorldPage extends BasicCustomUIPage {
     @Override
     public void build(UICommandBuilder uiCommandBuilder) {
         uiCommandBuilder.append("Pages/HelloWorldPage.ui");
+        TestUIPlugin.get().getLocalization().applyLabels(uiCommandBuilder, playerRef, "HelloWorldPage");
     }
 
 }
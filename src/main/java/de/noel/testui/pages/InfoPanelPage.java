@@ -1,10 +1,11 @@
 package de.noel.testui.pages;
 
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
 import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
-import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
 import com.hypixel.hytale.protocol.packets.interface_.Page;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCustomUIPage;
@@ -12,7 +13,25 @@ import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import de.noel.testui.TestUIPlugin;
+import de.noel.testui.bindings.Binding;
+import de.noel.testui.bindings.BindingRegistry;
+import de.noel.testui.cluster.ClusterStats;
+import de.noel.testui.diagnostics.UiTrace;
+import de.noel.testui.fragments.BuildKey;
+import de.noel.testui.fragments.Feature;
+import de.noel.testui.fragments.Fragment;
+import de.noel.testui.fragments.Role;
+import de.noel.testui.i18n.Localization;
+import de.noel.testui.payload.PayloadMeter;
+import de.noel.testui.session.RestorablePage;
+import de.noel.testui.stats.NetworkStats;
+import de.noel.testui.stats.WorldStats;
 import javax.annotation.Nonnull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
 
 /**
  * InfoPanelPage - Displays multiple dynamic values in a panel.
@@ -21,37 +40,114 @@ import javax.annotation.Nonnull;
  *   1. Passing multiple values to a page via constructor
  *   2. Setting multiple UI elements with different values
  *   3. Converting non-string values to strings for display
+ *   4. Switching tabs with a partial update instead of a rebuild
+ *
+ * The values come from a {@link NetworkStats} snapshot that is collected in
+ * the background - opening the page never touches any world. The network
+ * line below them comes from the cached {@link ClusterStats} merge of all
+ * servers.
+ *
+ * Everything that only depends on the viewer's role and language (layout,
+ * labels, staff section) is declared as {@link Fragment}s and cached by the
+ * plugin's FragmentCache; build() only adds the numbers on top.
+ *
+ * Only the open tab is kept in PageSessions - after a reconnect the page
+ * reopens on that tab with the latest cached stats.
  *
  * Use case: Server info panel, player stats, inventory summary, etc.
  */
-public class InfoPanelPage extends InteractiveCustomUIPage<InfoPanelPage.InfoEventData> {
+public class InfoPanelPage extends InteractiveCustomUIPage<InfoPanelPage.InfoEventData> implements RestorablePage {
+
+    public static final String SESSION_TYPE = "info";
+
+    public static final String TAB_OVERVIEW = "Overview";
+    public static final String TAB_WORLDS = "Worlds";
+
+    /** Rows that fit into #WorldsPanel; remaining worlds are summarized in the footer. */
+    private static final int MAX_WORLD_ROWS = 9;
+
+    /**
+     * Parts of the page that are the same for every player with the same role/locale/flags.
+     */
+    private static final List<Fragment> FRAGMENTS = List.of(
+        Fragment.always("layout", (key, cmd) -> cmd
+            .append("Pages/InfoPanel.ui")
+            .setAll(TestUIPlugin.get().getLocalization().labels(key.locale(), "InfoPanelPage"))),
+        Fragment.when("moderator", key -> key.has(Feature.STAFF_NOTES) && key.role() == Role.MODERATOR, (key, cmd) -> cmd
+            .set("#StaffSection.Visible", true)
+            .set("#StaffTitle.Text", TestUIPlugin.get().getLocalization().textIn(key.locale(), "info.staff.moderator.title"))
+            .set("#StaffText.Text", TestUIPlugin.get().getLocalization().textIn(key.locale(), "info.staff.moderator.text"))),
+        Fragment.when("admin", key -> key.has(Feature.STAFF_NOTES) && key.role() == Role.ADMIN, (key, cmd) -> cmd
+            .set("#StaffSection.Visible", true)
+            .set("#StaffTitle.Text", TestUIPlugin.get().getLocalization().textIn(key.locale(), "info.staff.admin.title"))
+            .set("#StaffText.Text", TestUIPlugin.get().getLocalization().textIn(key.locale(), "info.staff.admin.text")))
+    );
 
     // Data to display - passed via constructor
-    private final int playersOnline;
-    private final int activeQuests;
-    private final String uptime;
+    private final NetworkStats stats;
+    private final ClusterStats cluster;
+
+    // Current tab, and whether the world rows have been sent already
+    private String tab = TAB_OVERVIEW;
+    private boolean worldRowsSent;
+
+    // Bindings already on the client
+    private final BindingRegistry bindings = new BindingRegistry();
 
     /**
-     * Empty EventData - we only need to handle the close button.
+     * EventData - which menu entry or button was clicked.
+     *
+     *   - action:  "Overview", "Worlds" or "Close"
+     *   - binding: Id of the binding that fired (see BindingRegistry)
      */
     public static class InfoEventData {
+        public String action;
+        public String binding;
+
         public static final BuilderCodec<InfoEventData> CODEC =
-            BuilderCodec.builder(InfoEventData.class, InfoEventData::new).build();
+            BuilderCodec.builder(InfoEventData.class, InfoEventData::new)
+                .append(new KeyedCodec<>("Action", Codec.STRING), (InfoEventData o, String v) -> o.action = v, (InfoEventData o) -> o.action)
+                .add()
+                .append(new KeyedCodec<>(BindingRegistry.ID_KEY, Codec.STRING), (InfoEventData o, String v) -> o.binding = v, (InfoEventData o) -> o.binding)
+                .add()
+                .build();
     }
 
     /**
-     * Constructor with multiple data values.
+     * Constructor with a stats snapshot.
      *
-     * @param playerRef     Reference to the player
-     * @param playersOnline Number of online players
-     * @param activeQuests  Number of active quests
-     * @param uptime        Server uptime string
+     * @param playerRef Reference to the player
+     * @param stats     Stats of this server's worlds to display
+     * @param cluster   Totals of all servers in the cluster
      */
-    public InfoPanelPage(@Nonnull PlayerRef playerRef, int playersOnline, int activeQuests, String uptime) {
+    public InfoPanelPage(@Nonnull PlayerRef playerRef, @Nonnull NetworkStats stats, @Nonnull ClusterStats cluster) {
         super(playerRef, CustomPageLifetime.CanDismissOrCloseThroughInteraction, InfoEventData.CODEC);
-        this.playersOnline = playersOnline;
-        this.activeQuests = activeQuests;
-        this.uptime = uptime;
+        this.stats = stats;
+        this.cluster = cluster;
+    }
+
+    /**
+     * Reopen from a saved session with the current snapshots - nothing is sampled for it.
+     */
+    @Nonnull
+    public static InfoPanelPage restore(@Nonnull PlayerRef playerRef, @Nonnull DataInput in) throws IOException {
+        TestUIPlugin plugin = TestUIPlugin.get();
+        InfoPanelPage page = new InfoPanelPage(playerRef, plugin.getWorldStats().getSnapshot(), plugin.getClusterStats().getSnapshot());
+        if (TAB_WORLDS.equals(in.readUTF())) {
+            page.tab = TAB_WORLDS;
+        }
+        return page;
+    }
+
+    @Nonnull
+    @Override
+    public String getSessionType() {
+        return SESSION_TYPE;
+    }
+
+    @Override
+    public void writeSession(@Nonnull DataOutput out) throws IOException {
+        out.writeUTF(tab);
     }
 
     @Override
@@ -61,18 +157,60 @@ public class InfoPanelPage extends InteractiveCustomUIPage<InfoPanelPage.InfoEve
         @Nonnull UIEventBuilder eventBuilder,
         @Nonnull Store<EntityStore> store
     ) {
-        // Load the UI layout
-        commandBuilder.append("Pages/InfoPanel.ui");
+        UiTrace.Span trace = UiTrace.build(this, playerRef);
+
+        // Layout, translated labels and role-specific sections - cached per role/locale/flags
+        TestUIPlugin plugin = TestUIPlugin.get();
+        Player player = store.getComponent(ref, Player.getComponentType());
+        BuildKey key = BuildKey.of(player, playerRef, plugin.getLocalization());
+        plugin.getFragmentCache().apply(InfoPanelPage.class, key, FRAGMENTS, commandBuilder);
 
         // Set each stat value
         // Note: Numbers must be converted to String with String.valueOf()
         // The selector pattern is: #ElementId.Property
-        commandBuilder.set("#Stat1Value.Text", String.valueOf(playersOnline));
-        commandBuilder.set("#Stat2Value.Text", String.valueOf(activeQuests));
-        commandBuilder.set("#Stat3Value.Text", uptime);  // Already a string
+        commandBuilder.set("#Stat1Value.Text", String.valueOf(stats.players()));
+        commandBuilder.set("#Stat2Value.Text", String.valueOf(stats.entities()));
+        commandBuilder.set("#Stat3Value.Text", String.valueOf(stats.worlds().size()));
+
+        // Only worth a line once there is more than this server
+        if (cluster.nodeCount() > 1) {
+            Localization localization = plugin.getLocalization();
+            commandBuilder.set("#NetworkLine.Text", cluster.staleNodes() > 0
+                ? localization.text(playerRef, "info.network.stale", cluster.players(), cluster.nodeCount(), cluster.staleNodes())
+                : localization.text(playerRef, "info.network", cluster.players(), cluster.nodeCount()));
+        }
+
+        // The .ui file starts on the overview tab
+        worldRowsSent = false;
+        if (!TAB_OVERVIEW.equals(tab)) {
+            showTab(commandBuilder);
+        }
+        plugin.getPageSessions().capture(playerRef, this);
 
-        // Bind close button
-        eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#CloseButton");
+        // Bind menu entries and close button - a fresh build means the client has none yet
+        bindings.reset();
+        bindings.sync(eventBuilder, "menu", List.of(
+            Binding.activating("#MenuOverview").with("Action", TAB_OVERVIEW),
+            Binding.activating("#MenuWorlds").with("Action", TAB_WORLDS),
+            Binding.activating("#CloseButton").with("Action", "Close")
+        ));
+
+        // Count commands/bytes and check them against the page's budget
+        trace.end(PayloadMeter.build(this, commandBuilder, eventBuilder));
+    }
+
+    /**
+     * Traced entry point: the span covers decoding the event data and
+     * handleDataEvent() below.
+     */
+    @Override
+    public void handleDataEvent(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store, @Nonnull String rawData) {
+        UiTrace.Span trace = UiTrace.handler(this, playerRef);
+        try {
+            super.handleDataEvent(ref, store, rawData);
+        } finally {
+            trace.close();
+        }
     }
 
     @Override
@@ -81,8 +219,72 @@ public class InfoPanelPage extends InteractiveCustomUIPage<InfoPanelPage.InfoEve
         @Nonnull Store<EntityStore> store,
         @Nonnull InfoEventData data
     ) {
+        // Ignore bindings from an earlier build that are still attached on the client
+        if (!bindings.accept(data.binding)) {
+            return;
+        }
+
+        // Switch tabs with a partial update - the rest of the page stays as it is
+        if (TAB_OVERVIEW.equals(data.action) || TAB_WORLDS.equals(data.action)) {
+            if (!data.action.equals(tab)) {
+                tab = data.action;
+                UICommandBuilder update = new UICommandBuilder();
+                showTab(update);
+                PayloadMeter.update(this, update, null);
+                sendUpdate(update, false);
+                TestUIPlugin.get().getPageSessions().capture(playerRef, this);
+            }
+            return;
+        }
+
         // Close the page
+        TestUIPlugin.get().getPageSessions().endNow(playerRef);
         Player player = (Player) store.getComponent(ref, Player.getComponentType());
         player.getPageManager().setPage(ref, store, Page.None);
     }
+
+    @Override
+    public void onDismiss(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store) {
+        UiTrace.close(this, playerRef);
+        TestUIPlugin.get().getPageSessions().end(playerRef);
+    }
+
+    /**
+     * Show the current tab: panel visibility, title and menu marker.
+     * The world rows are only sent the first time the tab is opened.
+     */
+    private void showTab(UICommandBuilder cmd) {
+        Localization localization = TestUIPlugin.get().getLocalization();
+        boolean worlds = TAB_WORLDS.equals(tab);
+
+        cmd.set("#OverviewPanel.Visible", !worlds);
+        cmd.set("#WorldsPanel.Visible", worlds);
+        cmd.set("#PanelTitle.Text", localization.text(playerRef, worlds ? "info.tab.worlds" : "info.tab.overview"));
+        cmd.set("#MenuOverview.Text", (worlds ? "  " : "> ") + localization.text(playerRef, "info.tab.overview"));
+        cmd.set("#MenuWorlds.Text", (worlds ? "> " : "  ") + localization.text(playerRef, "info.tab.worlds"));
+
+        if (worlds && !worldRowsSent) {
+            appendWorldRows(cmd, localization);
+            worldRowsSent = true;
+        }
+    }
+
+    private void appendWorldRows(UICommandBuilder cmd, Localization localization) {
+        List<WorldStats> worlds = stats.worlds();
+        int rows = Math.min(worlds.size(), MAX_WORLD_ROWS);
+        for (int i = 0; i < rows; i++) {
+            WorldStats world = worlds.get(i);
+            String row = "#WorldList[" + i + "]";
+            cmd.append("#WorldList", "Pages/InfoWorldRow.ui");
+            cmd.set(row + " #Name.Text", world.world());
+            cmd.set(row + " #Players.Text", String.valueOf(world.players()));
+            cmd.set(row + " #Entities.Text", String.valueOf(world.entities()));
+            cmd.set(row + " #Lag.Text", world.responded()
+                ? localization.text(playerRef, "info.lag", (world.lagMicros() + 500) / 1000)
+                : localization.text(playerRef, "info.lag.none"));
+        }
+        if (worlds.size() > rows) {
+            cmd.set("#WorldsFooter.Text", localization.text(playerRef, "info.worlds.more", worlds.size() - rows));
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package de.noel.testui.pages;
 
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
 import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
@@ -8,13 +10,18 @@ import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
 import com.hypixel.hytale.protocol.packets.interface_.Page;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCustomUIPage;
+import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.hypixel.hytale.server.core.util.EventTitleUtil;
-import com.hypixel.hytale.server.core.Message;
+import de.noel.testui.TestUIPlugin;
+import de.noel.testui.fragments.BuildKey;
+import de.noel.testui.fragments.Feature;
+import de.noel.testui.fragments.Fragment;
+import de.noel.testui.fragments.Role;
 import javax.annotation.Nonnull;
+import java.util.List;
 
 /**
  * StyledDialogPage - A dialog with buttons that can be clicked.
@@ -31,24 +38,44 @@ import javax.annotation.Nonnull;
  *   1. Event binding with eventBuilder.addEventBinding()
  *   2. Handling events in handleDataEvent()
  *   3. Closing the page programmatically
+ *   4. Showing a non-modal toast via the NotificationService
+ *   5. Role-specific sections via cached Fragments
  */
 public class StyledDialogPage extends InteractiveCustomUIPage<StyledDialogPage.DialogEventData> {
 
     private final String headline;
     private final String message;
 
+    /**
+     * Parts of the dialog that only depend on role and language.
+     * Built once per combination by the FragmentCache, then replayed.
+     */
+    private static final List<Fragment> FRAGMENTS = List.of(
+        Fragment.always("layout", (key, cmd) -> cmd
+            .append("Pages/StyledDialog.ui")
+            .setAll(TestUIPlugin.get().getLocalization().labels(key.locale(), "StyledDialogPage"))),
+        Fragment.when("staff", key -> key.has(Feature.STAFF_NOTES) && key.role().atLeast(Role.MODERATOR), (key, cmd) -> cmd
+            .set("#StaffNote.Visible", true)
+            .set("#StaffNote.Text", TestUIPlugin.get().getLocalization().textIn(key.locale(),
+                key.role() == Role.ADMIN ? "dialog.staff.admin" : "dialog.staff.moderator")))
+    );
+
     /**
      * EventData class - defines what data we receive when events fire.
      *
-     * In this simple case, we don't need any data - we just want to know
-     * that a button was clicked. So the class is empty.
+     * We only need to know which button was clicked, so the class has
+     * a single "Action" field ("Action" or "Close").
      *
      * The CODEC is required to serialize/deserialize the data.
-     * For empty data, just use an empty builder.
      */
     public static class DialogEventData {
+        public String action;
+
         public static final BuilderCodec<DialogEventData> CODEC =
-            BuilderCodec.builder(DialogEventData.class, DialogEventData::new).build();
+            BuilderCodec.builder(DialogEventData.class, DialogEventData::new)
+                .append(new KeyedCodec<>("Action", Codec.STRING), (DialogEventData o, String v) -> o.action = v, (DialogEventData o) -> o.action)
+                .add()
+                .build();
     }
 
     /**
@@ -85,8 +112,11 @@ public class StyledDialogPage extends InteractiveCustomUIPage<StyledDialogPage.D
         @Nonnull UIEventBuilder eventBuilder,
         @Nonnull Store<EntityStore> store
     ) {
-        // Load the UI layout
-        commandBuilder.append("Pages/StyledDialog.ui");
+        // Load the UI layout (plus the staff note for moderators/admins) from the cache
+        TestUIPlugin plugin = TestUIPlugin.get();
+        Player player = store.getComponent(ref, Player.getComponentType());
+        BuildKey key = BuildKey.of(player, playerRef, plugin.getLocalization());
+        plugin.getFragmentCache().apply(StyledDialogPage.class, key, FRAGMENTS, commandBuilder);
 
         // Set dynamic text values
         commandBuilder.set("#Headline.Text", headline);
@@ -96,9 +126,11 @@ public class StyledDialogPage extends InteractiveCustomUIPage<StyledDialogPage.D
         // CustomUIEventBindingType.Activating = "when this element is clicked"
         // The selector "#ActionButton" finds the button with that ID
         //
-        // When clicked, handleDataEvent() will be called with an empty DialogEventData
-        eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#ActionButton");
-        eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#CloseButton");
+        // When clicked, handleDataEvent() will be called with the "Action" value set here
+        eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#ActionButton",
+            new EventData().append("Action", "Action"));
+        eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#CloseButton",
+            new EventData().append("Action", "Close"));
     }
 
     /**
@@ -108,7 +140,7 @@ public class StyledDialogPage extends InteractiveCustomUIPage<StyledDialogPage.D
      *
      * @param ref   Entity reference
      * @param store Entity store
-     * @param data  The event data (empty in this case)
+     * @param data  The event data (which button was clicked)
      */
     @Override
     public void handleDataEvent(
@@ -116,6 +148,13 @@ public class StyledDialogPage extends InteractiveCustomUIPage<StyledDialogPage.D
         @Nonnull Store<EntityStore> store,
         @Nonnull DialogEventData data
     ) {
+        // The action button shows a toast - it is queued and sent with the
+        // next flush, after any titles already pending for this player
+        if ("Action".equals(data.action)) {
+            TestUIPlugin plugin = TestUIPlugin.get();
+            plugin.getNotifications().notify(playerRef, headline, plugin.getLocalization().text(playerRef, "dialog.actionTriggered"));
+        }
+
         // Get the Player component to access PageManager
         Player player = (Player) store.getComponent(ref, Player.getComponentType());
 
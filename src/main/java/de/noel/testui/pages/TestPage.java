@@ -4,6 +4,7 @@ import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
 import com.hypixel.hytale.server.core.entity.entities.player.pages.BasicCustomUIPage;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import de.noel.testui.TestUIPlugin;
 import javax.annotation.Nonnull;
 
 /**
@@ -19,6 +20,7 @@ import javax.annotation.Nonnull;
  * This page demonstrates:
  *   1. Loading a .ui file with cmd.append()
  *   2. Setting dynamic text with cmd.set()
+ *   3. Translating the static labels with Localization.applyLabels()
  */
 public class TestPage extends BasicCustomUIPage {
 
@@ -59,5 +61,8 @@ public class TestPage extends BasicCustomUIPage {
         // Selector format: #ElementId.Property
         // This finds the element with id="Message" and sets its Text property
         commandBuilder.set("#Message.Text", message);
+
+        // Step 3: Translated labels for the player's language (see lang/*.properties)
+        TestUIPlugin.get().getLocalization().applyLabels(commandBuilder, playerRef, "TestPage");
     }
 }
@@ -0,0 +1,32 @@
+package de.noel.testui.payload;
+
+import javax.annotation.Nonnull;
+
+/**
+ * PayloadBudget - Upper limits for a single build or update of one page.
+ *
+ * Budgets can be overridden without recompiling through a system property
+ * named after the page class, e.g.
+ *   -Dtestui.payload.budget.InfoPanelPage=4096,32   (bytes, commands)
+ *
+ * @param maxBytes    Maximum estimated bytes per build/update
+ * @param maxCommands Maximum commands plus bindings per build/update
+ */
+public record PayloadBudget(int maxBytes, int maxCommands) {
+
+    public static final PayloadBudget UNLIMITED = new PayloadBudget(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    public boolean allows(@Nonnull PayloadStats stats) {
+        return stats.bytes() <= maxBytes && stats.commands() + stats.bindings() <= maxCommands;
+    }
+
+    /**
+     * Parse "bytes" or "bytes,commands".
+     */
+    static PayloadBudget parse(@Nonnull String value) {
+        String[] parts = value.split(",");
+        int bytes = Integer.parseInt(parts[0].trim());
+        int commands = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : Integer.MAX_VALUE;
+        return new PayloadBudget(bytes, commands);
+    }
+}
@@ -0,0 +1,213 @@
+package de.noel.testui.payload;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.protocol.packets.interface_.CustomUICommand;
+import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBinding;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * PayloadMeter - Counts commands, bindings and bytes of every page build/update.
+ *
+ * Pages call {@link #build} at the end of build() and {@link #update} right
+ * before sendUpdate(). The meter then:
+ *   1. Measures the payload (see {@link #measure})
+ *   2. Checks it against the page's {@link PayloadBudget}
+ *   3. Optionally writes a snapshot report of the page's first build
+ *
+ * The same report is checked in as a golden file per page
+ * (src/test/resources/payload/PageName.txt, see PayloadGoldenTest), so any
+ * growth in commands, bindings or bytes shows up in review.
+ *
+ * Configuration (system properties):
+ *   - testui.payload.strict=true      throw instead of logging a warning (for tests)
+ *   - testui.payload.reportDir=DIR    write "PageName.txt" build snapshots into DIR
+ *   - testui.payload.budget.PageName  override a budget ("bytes[,commands]")
+ */
+public final class PayloadMeter {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    private static final String PROPERTY_PREFIX = "testui.payload.";
+
+    private static final Map<Class<?>, PayloadBudget> BUDGETS = new ConcurrentHashMap<>();
+
+    // Reports are written once per page class and run
+    private static final Map<Class<?>, Boolean> SNAPSHOT_WRITTEN = new ConcurrentHashMap<>();
+
+    private PayloadMeter() {
+    }
+
+    /**
+     * Set the budget for a page class. A system property override wins.
+     */
+    public static void setBudget(@Nonnull Class<?> pageClass, @Nonnull PayloadBudget budget) {
+        String override = System.getProperty(PROPERTY_PREFIX + "budget." + pageClass.getSimpleName());
+        BUDGETS.put(pageClass, override != null ? PayloadBudget.parse(override) : budget);
+    }
+
+    public static PayloadBudget getBudget(@Nonnull Class<?> pageClass) {
+        return BUDGETS.getOrDefault(pageClass, PayloadBudget.UNLIMITED);
+    }
+
+    /**
+     * Record a full page build. Call at the end of build().
+     */
+    public static PayloadStats build(@Nonnull Object page, @Nonnull UICommandBuilder commands, @Nullable UIEventBuilder events) {
+        PayloadStats stats = measure(commands, events);
+        check(page.getClass(), "build", stats);
+        if (SNAPSHOT_WRITTEN.putIfAbsent(page.getClass(), Boolean.TRUE) == null) {
+            snapshot(page.getClass(), commands, events, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Record a partial update. Call right before sendUpdate().
+     */
+    public static PayloadStats update(@Nonnull Object page, @Nonnull UICommandBuilder commands, @Nullable UIEventBuilder events) {
+        PayloadStats stats = measure(commands, events);
+        check(page.getClass(), "update", stats);
+        return stats;
+    }
+
+    /**
+     * Estimate the encoded size of the builders' contents.
+     *
+     * Each command is counted as its type byte plus length-prefixed UTF-8
+     * strings (selector, data, text); each binding as its type, selector,
+     * data and lock flag. This mirrors how the packet serializes them closely
+     * enough to spot growth, without serializing anything.
+     */
+    public static PayloadStats measure(@Nonnull UICommandBuilder commands, @Nullable UIEventBuilder events) {
+        int bytes = 0;
+
+        CustomUICommand[] commandList = commands.getCommands();
+        for (CustomUICommand command : commandList) {
+            bytes += sizeOf(command);
+        }
+
+        CustomUIEventBinding[] bindingList = events != null ? events.getEvents() : new CustomUIEventBinding[0];
+        for (CustomUIEventBinding binding : bindingList) {
+            bytes += sizeOf(binding);
+        }
+
+        return new PayloadStats(commandList.length, bindingList.length, bytes);
+    }
+
+    private static int sizeOf(CustomUICommand command) {
+        return 1 + sizeOf(command.selector) + sizeOf(command.data) + sizeOf(command.text);
+    }
+
+    private static int sizeOf(CustomUIEventBinding binding) {
+        return 1 + sizeOf(binding.selector) + sizeOf(binding.data) + 1;
+    }
+
+    private static void check(Class<?> pageClass, String phase, PayloadStats stats) {
+        LOGGER.at(Level.FINE).log("%s %s: %s", pageClass.getSimpleName(), phase, stats);
+
+        PayloadBudget budget = getBudget(pageClass);
+        if (!budget.allows(stats)) {
+            fail(pageClass.getSimpleName() + " " + phase + " exceeds payload budget: " + stats
+                + " (budget: " + budget.maxBytes() + " bytes, " + budget.maxCommands() + " commands)");
+        }
+    }
+
+    /**
+     * Write the build snapshot report, if configured.
+     */
+    private static void snapshot(Class<?> pageClass, UICommandBuilder commands, UIEventBuilder events, PayloadStats stats) {
+        String reportDir = System.getProperty(PROPERTY_PREFIX + "reportDir");
+        if (reportDir == null) {
+            return;
+        }
+
+        Path file = Path.of(reportDir, pageClass.getSimpleName() + ".txt");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, report(pageClass, commands, events, stats), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.at(Level.WARNING).withCause(e).log("Could not write payload snapshot for %s", pageClass.getSimpleName());
+        }
+    }
+
+    /**
+     * Build a review-friendly text report: the totals, then one line per
+     * command and binding with its estimated size in bytes.
+     *
+     * Values are not listed, but they count towards the bytes - so the report
+     * is only stable for a build from fixed inputs (as in the golden test).
+     */
+    static String report(Class<?> pageClass, UICommandBuilder commands, @Nullable UIEventBuilder events, PayloadStats stats) {
+        StringBuilder out = new StringBuilder();
+        out.append("# Payload snapshot: ").append(pageClass.getSimpleName()).append('\n');
+        out.append("commands: ").append(stats.commands()).append('\n');
+        out.append("bindings: ").append(stats.bindings()).append('\n');
+        out.append("bytes: ").append(stats.bytes()).append('\n');
+        for (CustomUICommand command : commands.getCommands()) {
+            out.append(command.type).append(' ').append(command.selector != null ? command.selector : "-")
+                .append(' ').append(sizeOf(command)).append('\n');
+        }
+        if (events != null) {
+            for (CustomUIEventBinding binding : events.getEvents()) {
+                out.append("Bind ").append(binding.type).append(' ').append(binding.selector)
+                    .append(' ').append(sizeOf(binding)).append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    private static void fail(String message) {
+        if (Boolean.getBoolean(PROPERTY_PREFIX + "strict")) {
+            throw new IllegalStateException(message);
+        }
+        LOGGER.at(Level.WARNING).log(message);
+    }
+
+    /**
+     * Length-prefixed UTF-8 size of a nullable string (1 byte null marker for null).
+     */
+    private static int sizeOf(@Nullable String value) {
+        if (value == null) {
+            return 1;
+        }
+        int utf8 = utf8Length(value);
+        return varIntSize(utf8) + utf8;
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
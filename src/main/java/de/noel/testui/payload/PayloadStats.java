@@ -0,0 +1,16 @@
+package de.noel.testui.payload;
+
+/**
+ * PayloadStats - Size of one build or update as it goes over the wire.
+ *
+ * @param commands Number of UI commands (append, set, clear, ...)
+ * @param bindings Number of event bindings
+ * @param bytes    Estimated encoded size of commands and bindings
+ */
+public record PayloadStats(int commands, int bindings, int bytes) {
+
+    @Override
+    public String toString() {
+        return commands + " commands, " + bindings + " bindings, " + bytes + " bytes";
+    }
+}
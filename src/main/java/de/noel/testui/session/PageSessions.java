@@ -0,0 +1,378 @@
+package de.noel.testui.session;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.entity.entities.player.pages.CustomUIPage;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import de.noel.testui.diagnostics.UiTrace;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * PageSessions - Reopens a player's page after a reconnect or server restart.
+ *
+ * While a {@link RestorablePage} is open it captures its state on every
+ * change. Nothing is written per change:
+ *
+ *   1. capture():  Encodes the state into memory and marks the player dirty
+ *   2. flush:      Once a second, the latest state of every dirty player is
+ *                  appended to one log file in a single write
+ *   3. restore():  When the player is ready again (same server or after a
+ *                  restart), the state is decoded and the page reopened
+ *
+ * Closing a page with a button ({@link #endNow}) removes the session right
+ * away. A dismiss ({@link #end}) may also come from a disconnect, so that
+ * removal waits a short grace period and is cancelled if the player
+ * disconnects meanwhile. A page is not reopened while its removal is pending.
+ *
+ * The log file is read once at startup (without decoding any page state)
+ * and rewritten when it holds much more than the live sessions.
+ */
+public class PageSessions {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    private static final byte VERSION = 1;
+
+    private static final long FLUSH_INTERVAL_MS = 1000;
+
+    /** A dismiss this close to a disconnect is treated as part of the disconnect. */
+    private static final long CLOSE_GRACE_MS = 2000;
+
+    /** State larger than this is not kept (and rejected when reading the log). */
+    private static final int MAX_STATE_BYTES = 4096;
+
+    /**
+     * Recreates a page from the state its {@link RestorablePage#writeSession} wrote.
+     */
+    @FunctionalInterface
+    public interface Restorer {
+        @Nonnull
+        CustomUIPage restore(@Nonnull PlayerRef playerRef, @Nonnull DataInput in) throws IOException;
+    }
+
+    private record Session(String type, byte[] state, long savedAt) {
+    }
+
+    private final Path file;
+    private final long ttlMillis;
+    private final Map<String, Restorer> restorers = new ConcurrentHashMap<>();
+
+    // Latest state per player, and players whose state is not written yet
+    private final Map<UUID, Session> sessions = new ConcurrentHashMap<>();
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    // Pages closed on purpose (when), and players that left since
+    private final Map<UUID, Long> closing = new ConcurrentHashMap<>();
+    private final Set<UUID> offline = ConcurrentHashMap.newKeySet();
+
+    // Records in the log file - guarded by this
+    private int recordsInFile;
+
+    /**
+     * @param file      Log file (created on the first flush)
+     * @param ttlMillis How long a session is kept after its last change
+     */
+    public PageSessions(@Nonnull Path file, long ttlMillis) {
+        this.file = file;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Register how pages of a type are reopened.
+     */
+    public void register(@Nonnull String type, @Nonnull Restorer restorer) {
+        restorers.put(type, restorer);
+    }
+
+    /**
+     * Read the sessions of the last run and start writing changes.
+     */
+    public void start(@Nonnull ScheduledExecutorService scheduler) {
+        load();
+        scheduler.scheduleWithFixedDelay(this::flushSafely, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Write what is still pending. Closes in progress are not applied - during
+     * shutdown they come from the server closing pages, not from players.
+     */
+    public void close() {
+        closing.clear();
+        flushSafely();
+    }
+
+    /**
+     * Remember the current state of an open page. Cheap - call it on every change.
+     */
+    public void capture(@Nonnull PlayerRef playerRef, @Nonnull RestorablePage page) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            page.writeSession(out);
+        } catch (IOException e) {
+            // Cannot happen with an in-memory stream
+            throw new IllegalStateException(e);
+        }
+        if (bytes.size() > MAX_STATE_BYTES) {
+            LOGGER.at(Level.WARNING).log("Session state of %s is too large (%d bytes)", page.getSessionType(), bytes.size());
+            return;
+        }
+
+        UUID playerId = playerRef.getUuid();
+        sessions.put(playerId, new Session(page.getSessionType(), bytes.toByteArray(), System.currentTimeMillis()));
+        closing.remove(playerId);
+        dirty.add(playerId);
+    }
+
+    /**
+     * The player closed the page with a button - remove the session now.
+     */
+    public void endNow(@Nonnull PlayerRef playerRef) {
+        UUID playerId = playerRef.getUuid();
+        closing.remove(playerId);
+        if (sessions.remove(playerId) != null) {
+            dirty.add(playerId);
+        }
+    }
+
+    /**
+     * The page was dismissed (ESC) - don't reopen it, unless the player
+     * disconnects within the grace period (then the disconnect dismissed it).
+     */
+    public void end(@Nonnull PlayerRef playerRef) {
+        UUID playerId = playerRef.getUuid();
+        if (!offline.contains(playerId) && sessions.containsKey(playerId)) {
+            closing.put(playerId, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * The player left - keep the session and cancel a close that came with the disconnect.
+     */
+    public void disconnected(@Nonnull UUID playerId) {
+        offline.add(playerId);
+        closing.remove(playerId);
+    }
+
+    /**
+     * Reopen the player's last page, if there is one. Call when the player is
+     * ready in a world; the page is opened on that world's thread.
+     */
+    public void restore(@Nonnull Player player, @Nonnull Ref<EntityStore> ref) {
+        Store<EntityStore> store = ref.getStore();
+        World world = store.getExternalData().getWorld();
+        world.execute(() -> {
+            if (!ref.isValid()) {
+                return;
+            }
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            UUID playerId = playerRef.getUuid();
+            offline.remove(playerId);
+
+            Session session = sessions.get(playerId);
+            if (session == null || session.savedAt() + ttlMillis <= System.currentTimeMillis()) {
+                return;
+            }
+            // Dismissed on purpose - the removal is just not applied yet
+            if (closing.containsKey(playerId)) {
+                return;
+            }
+            // Something else may have opened a page meanwhile
+            if (player.getPageManager().getCustomPage() != null) {
+                return;
+            }
+            CustomUIPage page = decode(playerRef, session);
+            if (page != null) {
+                UiTrace.open(player, ref, store, playerRef, page);
+            }
+        });
+    }
+
+    @Nullable
+    private CustomUIPage decode(PlayerRef playerRef, Session session) {
+        Restorer restorer = restorers.get(session.type());
+        if (restorer == null) {
+            return null;
+        }
+        try {
+            return restorer.restore(playerRef, new DataInputStream(new ByteArrayInputStream(session.state())));
+        } catch (IOException | RuntimeException e) {
+            // Written by an older version of the page - start over
+            LOGGER.at(Level.FINE).withCause(e).log("Could not restore %s page", session.type());
+            sessions.remove(playerRef.getUuid());
+            dirty.add(playerRef.getUuid());
+            return null;
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            // Must not escape: an exception would cancel the scheduled flush
+            LOGGER.at(Level.WARNING).withCause(e).log("Could not write page sessions");
+        }
+    }
+
+    /**
+     * Apply closes and expiry, then append all dirty players in one write.
+     */
+    synchronized void flush() throws IOException {
+        long now = System.currentTimeMillis();
+
+        for (Map.Entry<UUID, Long> entry : closing.entrySet()) {
+            if (now - entry.getValue() >= CLOSE_GRACE_MS && closing.remove(entry.getKey(), entry.getValue())) {
+                sessions.remove(entry.getKey());
+                dirty.add(entry.getKey());
+            }
+        }
+        // Expired sessions are skipped when loading - no need to write anything
+        sessions.values().removeIf(session -> session.savedAt() + ttlMillis <= now);
+        offline.removeIf(playerId -> !sessions.containsKey(playerId));
+
+        if (dirty.isEmpty()) {
+            return;
+        }
+        // Snapshot what is written; the players stay dirty until the write succeeded
+        Map<UUID, Session> written = new HashMap<>();
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(batch)) {
+            for (UUID playerId : dirty) {
+                Session session = sessions.get(playerId);
+                written.put(playerId, session);
+                writeRecord(out, playerId, session);
+            }
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        if (recordsInFile + written.size() > 4 * sessions.size() + 64) {
+            compact();
+        } else {
+            Files.write(file, batch.toByteArray(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            recordsInFile += written.size();
+        }
+
+        // Clean now - unless a capture during the write replaced the session, then it goes next time
+        written.forEach((playerId, session) -> {
+            dirty.remove(playerId);
+            if (sessions.get(playerId) != session) {
+                dirty.add(playerId);
+            }
+        });
+    }
+
+    /**
+     * Replace the log with one record per live session.
+     */
+    private void compact() throws IOException {
+        List<Map.Entry<UUID, Session>> live = new ArrayList<>(sessions.entrySet());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            for (Map.Entry<UUID, Session> entry : live) {
+                writeRecord(out, entry.getKey(), entry.getValue());
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        recordsInFile = live.size();
+    }
+
+    /**
+     * Read the log; later records replace earlier ones. A record cut off by a
+     * crash ends the file.
+     */
+    synchronized void load() {
+        long now = System.currentTimeMillis();
+        int records = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                byte version = in.readByte();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported session record version " + version);
+                }
+                UUID playerId = new UUID(in.readLong(), in.readLong());
+                long savedAt = in.readLong();
+                String type = in.readUTF();
+                int length = in.readUnsignedShort();
+                if (length > MAX_STATE_BYTES) {
+                    throw new IOException("Session record too large");
+                }
+                byte[] state = new byte[length];
+                in.readFully(state);
+                records++;
+
+                if (type.isEmpty() || savedAt + ttlMillis <= now) {
+                    sessions.remove(playerId);
+                } else {
+                    sessions.put(playerId, new Session(type, state, savedAt));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (EOFException e) {
+            // End of the log (or a record cut off by a crash)
+        } catch (IOException e) {
+            LOGGER.at(Level.WARNING).withCause(e).log("Page sessions are damaged after %d records", records);
+        }
+        recordsInFile = records;
+
+        // Rewrite the log now - records appended after a damaged or cut-off
+        // record could not be read back
+        try {
+            compact();
+        } catch (IOException e) {
+            LOGGER.at(Level.WARNING).withCause(e).log("Could not rewrite page sessions");
+        }
+        LOGGER.at(Level.INFO).log("Loaded %d page sessions", sessions.size());
+    }
+
+    /**
+     * Type of the player's session, or null if there is none.
+     */
+    @Nullable
+    String typeOf(@Nonnull UUID playerId) {
+        Session session = sessions.get(playerId);
+        return session != null ? session.type() : null;
+    }
+
+    /**
+     * One record; a null session is written as a tombstone (empty type).
+     */
+    private static void writeRecord(DataOutputStream out, UUID playerId, @Nullable Session session) throws IOException {
+        out.writeByte(VERSION);
+        out.writeLong(playerId.getMostSignificantBits());
+        out.writeLong(playerId.getLeastSignificantBits());
+        out.writeLong(session != null ? session.savedAt() : System.currentTimeMillis());
+        out.writeUTF(session != null ? session.type() : "");
+        byte[] state = session != null ? session.state() : new byte[0];
+        out.writeShort(state.length);
+        out.write(state);
+    }
+}
@@ -0,0 +1,27 @@
+package de.noel.testui.session;
+
+import javax.annotation.Nonnull;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * RestorablePage - A page that can be reopened after a reconnect or restart.
+ *
+ * The page writes what it needs to come back - constructor data and input
+ * the player has entered - and registers a matching {@link PageSessions.Restorer}
+ * under the same type. Keep the state small: it is captured on every change.
+ */
+public interface RestorablePage {
+
+    /**
+     * Stable name the restorer is registered under (not the class name, so
+     * renaming the class doesn't orphan saved sessions).
+     */
+    @Nonnull
+    String getSessionType();
+
+    /**
+     * Write the page's state. Called on the world thread.
+     */
+    void writeSession(@Nonnull DataOutput out) throws IOException;
+}
@@ -0,0 +1,74 @@
+package de.noel.testui.stats;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * NetworkStats - Immutable snapshot of all worlds, combined into totals.
+ *
+ * @param sampledAt    When the snapshot was taken (epoch millis), 0 if never
+ * @param players      Players across all worlds
+ * @param entities     Entities across all worlds
+ * @param maxLagMicros Highest queue latency of any responding world
+ * @param worlds       Per-world breakdown
+ */
+public record NetworkStats(long sampledAt, int players, int entities, long maxLagMicros, @Nonnull List<WorldStats> worlds) {
+
+    /** Placeholder until the first sample arrives. */
+    public static final NetworkStats EMPTY = new NetworkStats(0, 0, 0, 0, List.of());
+
+    /** Below this many worlds the reduction runs in a single task. */
+    private static final int SEQUENTIAL_THRESHOLD = 8;
+
+    /**
+     * Combine per-world samples into one snapshot with a fork-join reduction.
+     */
+    public static NetworkStats of(@Nonnull WorldStats[] samples, long sampledAt) {
+        long[] totals = ForkJoinPool.commonPool().invoke(new SumTask(samples, 0, samples.length));
+        return new NetworkStats(sampledAt, (int) totals[0], (int) totals[1], totals[2], List.of(samples));
+    }
+
+    /**
+     * Sums players and entities and takes the maximum lag over a range of samples.
+     * Result: { players, entities, maxLagMicros }
+     */
+    private static final class SumTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final WorldStats[] samples;
+        private final int from;
+        private final int to;
+
+        SumTask(WorldStats[] samples, int from, int to) {
+            this.samples = samples;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                long[] totals = new long[3];
+                for (int i = from; i < to; i++) {
+                    WorldStats stats = samples[i];
+                    totals[0] += stats.players();
+                    totals[1] += stats.entities();
+                    totals[2] = Math.max(totals[2], stats.lagMicros());
+                }
+                return totals;
+            }
+
+            int mid = (from + to) >>> 1;
+            SumTask left = new SumTask(samples, from, mid);
+            left.fork();
+            long[] right = new SumTask(samples, mid, to).compute();
+            long[] totals = left.join();
+            totals[0] += right[0];
+            totals[1] += right[1];
+            totals[2] = Math.max(totals[2], right[2]);
+            return totals;
+        }
+    }
+}
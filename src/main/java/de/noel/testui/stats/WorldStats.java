@@ -0,0 +1,24 @@
+package de.noel.testui.stats;
+
+import javax.annotation.Nonnull;
+
+/**
+ * WorldStats - Metrics of a single world, sampled on that world's own thread.
+ *
+ * @param world      World name
+ * @param players    Players currently in the world
+ * @param entities   Entities in the world's entity store
+ * @param lagMicros  How long the sampling task waited in the world's task
+ *                   queue before it ran - a direct measure of how busy the
+ *                   world thread is. -1 if the world did not respond in time.
+ */
+public record WorldStats(@Nonnull String world, int players, int entities, long lagMicros) {
+
+    public boolean responded() {
+        return lagMicros >= 0;
+    }
+
+    public static WorldStats unresponsive(@Nonnull String world) {
+        return new WorldStats(world, 0, 0, -1);
+    }
+}
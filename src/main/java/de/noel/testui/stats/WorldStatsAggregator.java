@@ -0,0 +1,138 @@
+package de.noel.testui.stats;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * WorldStatsAggregator - Periodically collects metrics from every world.
+ *
+ * Entity stores may only be touched on their world's thread, so instead of
+ * walking them from the caller:
+ *
+ *   1. A sampling task is submitted to each world (World is an Executor)
+ *   2. Each world fills in its {@link WorldStats} on its own thread
+ *   3. When all worlds answered (or timed out), the samples are reduced into
+ *      one {@link NetworkStats} snapshot - on the scheduler, never on a
+ *      world thread
+ *
+ * A timed-out sample is not cancelled: it still runs once its world catches
+ * up. Until then, that world is not sent another one - it is reported as
+ * unresponsive right away, so a stalled world's queue does not fill up with
+ * sampling tasks.
+ *
+ * Readers such as /info only read the latest snapshot - they never wait for
+ * a world.
+ */
+public class WorldStatsAggregator {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    /** Worlds that take longer than this to run the sampling task are reported as unresponsive. */
+    private static final long SAMPLE_TIMEOUT_MS = 2000;
+
+    private final long intervalMillis;
+    private final long sampleTimeoutMillis;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    // Latest sampling task per world name (never completed by a timeout);
+    // a world is skipped while its task is still queued
+    private final Map<String, CompletableFuture<WorldStats>> inFlight = new ConcurrentHashMap<>();
+    private volatile NetworkStats snapshot = NetworkStats.EMPTY;
+
+    public WorldStatsAggregator(long intervalMillis) {
+        this(intervalMillis, SAMPLE_TIMEOUT_MS);
+    }
+
+    WorldStatsAggregator(long intervalMillis, long sampleTimeoutMillis) {
+        this.intervalMillis = intervalMillis;
+        this.sampleTimeoutMillis = sampleTimeoutMillis;
+    }
+
+    public void start(@Nonnull ScheduledExecutorService scheduler) {
+        scheduler.scheduleWithFixedDelay(() -> refresh(scheduler), 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The latest snapshot. Never blocks.
+     */
+    @Nonnull
+    public NetworkStats getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Start a new sampling round unless one is still running.
+     *
+     * @param executor Runs the reduction once all samples are in (not a world thread)
+     */
+    public void refresh(@Nonnull Executor executor) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        List<CompletableFuture<WorldStats>> samples = new ArrayList<>();
+        try {
+            Map<String, World> worlds = Universe.get().getWorlds();
+            inFlight.keySet().retainAll(worlds.keySet());
+            for (World world : worlds.values()) {
+                String name = world.getName();
+                CompletableFuture<WorldStats> previous = inFlight.get(name);
+                if (previous != null && !previous.isDone()) {
+                    samples.add(CompletableFuture.completedFuture(WorldStats.unresponsive(name)));
+                    continue;
+                }
+
+                long submitted = System.nanoTime();
+                CompletableFuture<WorldStats> sample = CompletableFuture.supplyAsync(() -> sample(world, submitted), world);
+                // The timeout goes on a copy: completeOnTimeout completes the future it is
+                // called on, which would make the queued task look done in inFlight
+                inFlight.put(name, sample);
+                samples.add(sample.copy()
+                    .completeOnTimeout(WorldStats.unresponsive(name), sampleTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .exceptionally(error -> {
+                        LOGGER.at(Level.FINE).withCause(error).log("Sampling world %s failed", name);
+                        return WorldStats.unresponsive(name);
+                    }));
+            }
+        } catch (RuntimeException e) {
+            // Must not escape: an exception would cancel the scheduled refresh
+            LOGGER.at(Level.WARNING).withCause(e).log("Could not start world sampling");
+            refreshing.set(false);
+            return;
+        }
+
+        CompletableFuture.allOf(samples.toArray(new CompletableFuture<?>[0]))
+            .whenCompleteAsync((ignored, error) -> {
+                try {
+                    WorldStats[] results = new WorldStats[samples.size()];
+                    for (int i = 0; i < results.length; i++) {
+                        results[i] = samples.get(i).join();
+                    }
+                    snapshot = NetworkStats.of(results, System.currentTimeMillis());
+                } finally {
+                    refreshing.set(false);
+                }
+            }, executor);
+    }
+
+    /**
+     * Runs on the world's own thread.
+     */
+    private static WorldStats sample(World world, long submittedNanos) {
+        long lagMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - submittedNanos);
+        int entities = world.getEntityStore().getStore().getEntityCount();
+        return new WorldStats(world.getName(), world.getPlayerCount(), entities, lagMicros);
+    }
+}
@@ -4,6 +4,7 @@ import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
 import com.hypixel.hytale.server.core.entity.entities.player.pages.BasicCustomUIPage;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import de.noel.testui.TestUIPlugin;
 
 import javax.annotation.Nonnull;
 
@@ -25,5 +26,8 @@ public class Tutorial1Page extends BasicCustomUIPage {
         // Load the UI file
         // Path is relative to: src/main/resources/Common/UI/Custom/
         cmd.append("Pages/Tutorial1Page.ui");
+
+        // Translated labels for the player's language (see lang/*.properties)
+        TestUIPlugin.get().getLocalization().applyLabels(cmd, playerRef, "Tutorial1Page");
     }
 }
@@ -16,6 +16,8 @@ import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import de.noel.testui.TestUIPlugin;
+import de.noel.testui.i18n.Localization;
 
 import javax.annotation.Nonnull;
 
@@ -68,6 +70,9 @@ public class Tutorial2Page extends InteractiveCustomUIPage<Tutorial2Page.GreetEv
         // Load the UI file
         cmd.append("Pages/Tutorial2Page.ui");
 
+        // Translated labels for the player's language (see lang/*.properties)
+        TestUIPlugin.get().getLocalization().applyLabels(cmd, playerRef, "Tutorial2Page");
+
         // Bind the button click event
         // When #GreetButton is clicked:
         // - Read the value from #NameInput.Value
@@ -89,12 +94,13 @@ public class Tutorial2Page extends InteractiveCustomUIPage<Tutorial2Page.GreetEv
         Player player = store.getComponent(ref, Player.getComponentType());
 
         // Use the data from the form
+        Localization localization = TestUIPlugin.get().getLocalization();
         String name = data.playerName != null && !data.playerName.isEmpty()
                 ? data.playerName
-                : "Stranger";
+                : localization.text(playerRef, "tutorial2.stranger");
 
-        // Send a greeting message
-        playerRef.sendMessage(Message.raw("Hello, " + name + "!"));
+        // Send a greeting message ("Hello, {0}!" in the player's language)
+        playerRef.sendMessage(Message.raw(localization.text(playerRef, "tutorial2.greeting", name)));
 
         // Close the UI
         player.getPageManager().setPage(ref, store, Page.None);
@@ -9,6 +9,7 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
+import de.noel.testui.diagnostics.UiTrace;
 import javax.annotation.Nonnull;
 
 /**
@@ -36,10 +37,10 @@ public class Tutorial3Command extends AbstractPlayerCommand {
         Tutorial3Page page = new Tutorial3Page(
                 playerRef,
                 42,           // playersOnline
-                7,            // questCount
-                "3h 24m"      // uptime
+                7             // questCount
         );
+        // Uptime and the event timer are live values - see Tutorial3Dashboard
 
-        player.getPageManager().openCustomPage(ref, store, page);
+        UiTrace.open(player, ref, store, playerRef, page);
     }
 }
@@ -0,0 +1,123 @@
+package de.noel.testui.tutorial.level3;
+
+import de.noel.testui.live.LiveBoard;
+import de.noel.testui.live.ProgressDisplay;
+import de.noel.testui.live.TimeDisplay;
+import de.noel.testui.live.Trajectory;
+
+import javax.annotation.Nonnull;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Live values of the Tutorial 3 dashboard, shared by everyone viewing it.
+ *
+ * - Uptime: counts up from the server start, shown in minutes
+ * - A demo event every 10 minutes: countdown to the next one + progress bar
+ *
+ * Each value is described once as a trajectory; the only scheduled work
+ * besides the LiveBoard itself is restarting the event cycle.
+ *
+ * Pages subscribe through {@link #watch} so a player's viewer can also be
+ * dropped when they disconnect ({@link #forget}), not only when the page
+ * closes.
+ */
+public class Tutorial3Dashboard {
+
+    private static final long EVENT_CYCLE_MILLIS = 10 * 60 * 1000;
+
+    private final LongSupplier clock;
+    private final LiveBoard board;
+    private final TimeDisplay eventCountdown;
+    private final ProgressDisplay eventProgress;
+
+    // The viewer of each player who has the dashboard open
+    private final Map<UUID, LiveBoard.Viewer> viewers = new ConcurrentHashMap<>();
+
+    public Tutorial3Dashboard() {
+        this(System::currentTimeMillis, ManagementFactory.getRuntimeMXBean().getStartTime());
+    }
+
+    /**
+     * @param clock       Epoch millis - a fixed clock gives the same values on every build
+     * @param serverStart Start of the uptime display
+     */
+    public Tutorial3Dashboard(@Nonnull LongSupplier clock, long serverStart) {
+        this.clock = clock;
+        this.board = new LiveBoard(clock);
+        long cycleStart = cycleStart(clock.getAsLong());
+
+        board.add(TimeDisplay.uptime("#Stat3Value", serverStart));
+        eventCountdown = board.add(TimeDisplay.countdown("#EventCountdown", countdownFrom(cycleStart)));
+        eventProgress = board.add(new ProgressDisplay("#EventBar", "#EventPercent", 100, progressFrom(cycleStart)));
+    }
+
+    public void start(@Nonnull ScheduledExecutorService scheduler) {
+        board.start(scheduler);
+
+        // Restart the event trajectories at every cycle boundary
+        long now = clock.getAsLong();
+        long firstBoundary = cycleStart(now) + EVENT_CYCLE_MILLIS;
+        scheduler.scheduleAtFixedRate(this::nextCycle, firstBoundary - now, EVENT_CYCLE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Nonnull
+    public LiveBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Push live changes to a player's viewer. Replaces the viewer of a page
+     * the player had open before.
+     */
+    public void watch(@Nonnull UUID playerId, @Nonnull LiveBoard.Viewer viewer) {
+        LiveBoard.Viewer previous = viewers.put(playerId, viewer);
+        if (previous != null && previous != viewer) {
+            board.unsubscribe(previous);
+        }
+        board.subscribe(viewer);
+    }
+
+    /**
+     * Stop pushing to a viewer - only if it is still the player's current one.
+     */
+    public void unwatch(@Nonnull UUID playerId, @Nonnull LiveBoard.Viewer viewer) {
+        viewers.remove(playerId, viewer);
+        board.unsubscribe(viewer);
+    }
+
+    /**
+     * Drop the viewer of a player who left.
+     */
+    public void forget(@Nonnull UUID playerId) {
+        LiveBoard.Viewer viewer = viewers.remove(playerId);
+        if (viewer != null) {
+            board.unsubscribe(viewer);
+        }
+    }
+
+    private void nextCycle() {
+        // The task may fire a little early or late - snap to the nearest boundary
+        long now = clock.getAsLong();
+        long start = Math.round((double) now / EVENT_CYCLE_MILLIS) * EVENT_CYCLE_MILLIS;
+        board.retarget(eventCountdown, countdownFrom(start));
+        board.retarget(eventProgress, progressFrom(start));
+    }
+
+    private static long cycleStart(long now) {
+        return now - now % EVENT_CYCLE_MILLIS;
+    }
+
+    private static Trajectory countdownFrom(long cycleStart) {
+        return Trajectory.between(EVENT_CYCLE_MILLIS, 0, cycleStart, EVENT_CYCLE_MILLIS);
+    }
+
+    private static Trajectory progressFrom(long cycleStart) {
+        return Trajectory.between(0, 1, cycleStart, EVENT_CYCLE_MILLIS);
+    }
+}
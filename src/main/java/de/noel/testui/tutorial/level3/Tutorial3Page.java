@@ -11,9 +11,19 @@ import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCu
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import de.noel.testui.TestUIPlugin;
+import de.noel.testui.diagnostics.UiTrace;
+import de.noel.testui.fragments.RecordedCommands;
+import de.noel.testui.live.LiveBoard;
+import de.noel.testui.payload.PayloadMeter;
+import de.noel.testui.session.RestorablePage;
 
 import javax.annotation.Nonnull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Tutorial Level 3: Dynamic Values
@@ -24,13 +34,21 @@ import javax.annotation.Nonnull;
  * - Styled two-panel layout with FlexWeight
  * - Custom button styles
  * - Empty EventData for close-only buttons
+ * - Live values (uptime, event countdown, progress bar) pushed with sendUpdate()
+ *   by a shared LiveBoard - only when the shown value actually changes
+ * - Reopening after a reconnect: the constructor data is kept in PageSessions
  */
-public class Tutorial3Page extends InteractiveCustomUIPage<Tutorial3Page.CloseEventData> {
+public class Tutorial3Page extends InteractiveCustomUIPage<Tutorial3Page.CloseEventData> implements RestorablePage {
+
+    public static final String SESSION_TYPE = "tutorial3";
 
     // Data passed via constructor - will be displayed in UI
     private final int playersOnline;
     private final int questCount;
-    private final String uptime;
+
+    // Forwards live value changes to this player while the page is open
+    private LiveBoard.Viewer viewer;
+    private volatile boolean closed;
 
     /**
      * Empty EventData - we only need to handle the close button.
@@ -44,13 +62,31 @@ public class Tutorial3Page extends InteractiveCustomUIPage<Tutorial3Page.CloseEv
     public Tutorial3Page(
             @Nonnull PlayerRef playerRef,
             int playersOnline,
-            int questCount,
-            String uptime
+            int questCount
     ) {
         super(playerRef, CustomPageLifetime.CanDismissOrCloseThroughInteraction, CloseEventData.CODEC);
         this.playersOnline = playersOnline;
         this.questCount = questCount;
-        this.uptime = uptime;
+    }
+
+    /**
+     * Reopen from a saved session. Live values need no state - they come from the dashboard.
+     */
+    @Nonnull
+    public static Tutorial3Page restore(@Nonnull PlayerRef playerRef, @Nonnull DataInput in) throws IOException {
+        return new Tutorial3Page(playerRef, in.readInt(), in.readInt());
+    }
+
+    @Nonnull
+    @Override
+    public String getSessionType() {
+        return SESSION_TYPE;
+    }
+
+    @Override
+    public void writeSession(@Nonnull DataOutput out) throws IOException {
+        out.writeInt(playersOnline);
+        out.writeInt(questCount);
     }
 
     @Override
@@ -60,18 +96,49 @@ public class Tutorial3Page extends InteractiveCustomUIPage<Tutorial3Page.CloseEv
             @Nonnull UIEventBuilder evt,
             @Nonnull Store<EntityStore> store
     ) {
+        UiTrace.Span trace = UiTrace.build(this, playerRef);
+
         // Load the UI layout
         cmd.append("Pages/Tutorial3Page.ui");
 
+        // Translated labels for the player's language (see lang/*.properties)
+        TestUIPlugin.get().getLocalization().applyLabels(cmd, playerRef, "Tutorial3Page");
+
         // Set dynamic values using cmd.set()
         // Pattern: cmd.set("#ElementId.Property", stringValue)
         // Numbers must be converted with String.valueOf()
         cmd.set("#Stat1Value.Text", String.valueOf(playersOnline));
         cmd.set("#Stat2Value.Text", String.valueOf(questCount));
-        cmd.set("#Stat3Value.Text", uptime);
+        TestUIPlugin.get().getPageSessions().capture(playerRef, this);
+
+        // Live values: write the current state once, then only receive changes.
+        // Uptime changes once a minute, the countdown once a second, the bar every 1%.
+        Tutorial3Dashboard dashboard = TestUIPlugin.get().getDashboard();
+        dashboard.getBoard().writeCurrent(cmd);
+        if (viewer == null) {
+            viewer = this::push;
+        }
+        dashboard.watch(playerRef.getUuid(), viewer);
 
         // Bind close button - no EventData needed, just triggers handleDataEvent
         evt.addEventBinding(CustomUIEventBindingType.Activating, "#CloseButton");
+
+        // Count commands/bytes and check them against the page's budget
+        trace.end(PayloadMeter.build(this, cmd, evt));
+    }
+
+    /**
+     * Traced entry point: the span covers decoding the event data and
+     * handleDataEvent() below.
+     */
+    @Override
+    public void handleDataEvent(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store, @Nonnull String rawData) {
+        UiTrace.Span trace = UiTrace.handler(this, playerRef);
+        try {
+            super.handleDataEvent(ref, store, rawData);
+        } finally {
+            trace.close();
+        }
     }
 
     @Override
@@ -80,8 +147,51 @@ public class Tutorial3Page extends InteractiveCustomUIPage<Tutorial3Page.CloseEv
             @Nonnull Store<EntityStore> store,
             @Nonnull CloseEventData data
     ) {
-        // Close the page
+        // Stop live updates, then close the page
+        stopLiveUpdates();
+        TestUIPlugin.get().getPageSessions().endNow(playerRef);
         Player player = store.getComponent(ref, Player.getComponentType());
         player.getPageManager().setPage(ref, store, Page.None);
     }
+
+    @Override
+    public void onDismiss(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store) {
+        UiTrace.close(this, playerRef);
+        stopLiveUpdates();
+        TestUIPlugin.get().getPageSessions().end(playerRef);
+    }
+
+    /**
+     * Forward live changes to the player's current world thread. The player
+     * may have changed worlds or left since build(), so the world is looked
+     * up on every push, and a player that is gone ends the subscription.
+     */
+    private void push(@Nonnull RecordedCommands changes) {
+        Ref<EntityStore> ref = playerRef.getReference();
+        if (ref == null || !ref.isValid()) {
+            stopLiveUpdates();
+            return;
+        }
+        World world = ref.getStore().getExternalData().getWorld();
+        world.execute(() -> {
+            if (closed) {
+                return;
+            }
+            if (!ref.isValid()) {
+                stopLiveUpdates();
+                return;
+            }
+            UICommandBuilder update = new UICommandBuilder();
+            changes.replay(update);
+            PayloadMeter.update(this, update, null);
+            sendUpdate(update, false);
+        });
+    }
+
+    private void stopLiveUpdates() {
+        closed = true;
+        if (viewer != null) {
+            TestUIPlugin.get().getDashboard().unwatch(playerRef.getUuid(), viewer);
+        }
+    }
 }
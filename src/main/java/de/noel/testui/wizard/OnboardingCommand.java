@@ -0,0 +1,35 @@
+package de.noel.testui.wizard;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import de.noel.testui.diagnostics.UiTrace;
+import javax.annotation.Nonnull;
+
+/**
+ * Command to open the onboarding wizard.
+ * Usage: /onboarding
+ */
+public class OnboardingCommand extends AbstractPlayerCommand {
+
+    public OnboardingCommand() {
+        super("onboarding", "Opens the onboarding wizard", false);
+    }
+
+    @Override
+    protected void execute(
+            @Nonnull CommandContext ctx,
+            @Nonnull Store<EntityStore> store,
+            @Nonnull Ref<EntityStore> ref,
+            @Nonnull PlayerRef playerRef,
+            @Nonnull World world
+    ) {
+        Player player = store.getComponent(ref, Player.getComponentType());
+        UiTrace.open(player, ref, store, playerRef, new OnboardingPage(playerRef));
+    }
+}
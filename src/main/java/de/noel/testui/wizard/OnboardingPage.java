@@ -0,0 +1,112 @@
+package de.noel.testui.wizard;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import de.noel.testui.TestUIPlugin;
+import de.noel.testui.i18n.Localization;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * OnboardingPage - A 5-step wizard for new players.
+ *
+ *   1. Profile      - display name (3-16 characters)
+ *   2. Preferences  - notifications, coordinates
+ *   3. Interests    - at least one
+ *   4. Rules        - must be accepted
+ *   5. Summary      - review, then Finish
+ *
+ * Everything is committed in {@link #complete} at the end.
+ */
+public class OnboardingPage extends WizardPage {
+
+    private static final int MIN_NAME_LENGTH = 3;
+    private static final int MAX_NAME_LENGTH = 16;
+
+    private static final String[] INTERESTS = {"building", "exploring", "pvp"};
+
+    private static final List<WizardStep> STEPS = List.of(
+        WizardStep.of("onboarding.step.profile", "Pages/OnboardingProfile.ui",
+                WizardField.text("name", "#NameInput"))
+            .validatedBy(values -> {
+                int length = values.text("name").trim().length();
+                return length < MIN_NAME_LENGTH || length > MAX_NAME_LENGTH ? "onboarding.error.name" : null;
+            }),
+
+        WizardStep.of("onboarding.step.preferences", "Pages/OnboardingPreferences.ui",
+            WizardField.checkbox("notifications", "#NotifyOption #CheckBox", true),
+            WizardField.checkbox("coordinates", "#CoordsOption #CheckBox", false)),
+
+        WizardStep.of("onboarding.step.interests", "Pages/OnboardingInterests.ui",
+                WizardField.checkbox("building", "#BuildingOption #CheckBox", false),
+                WizardField.checkbox("exploring", "#ExploringOption #CheckBox", false),
+                WizardField.checkbox("pvp", "#PvpOption #CheckBox", false))
+            .validatedBy(values -> hasInterest(values) ? null : "onboarding.error.interests"),
+
+        WizardStep.of("onboarding.step.rules", "Pages/OnboardingRules.ui",
+                WizardField.checkbox("rules", "#RulesOption #CheckBox", false))
+            .validatedBy(values -> values.checked("rules") ? null : "onboarding.error.rules"),
+
+        WizardStep.of("onboarding.step.summary", "Pages/OnboardingSummary.ui")
+    );
+
+    public OnboardingPage(@Nonnull PlayerRef playerRef) {
+        super(playerRef, "onboarding.title", STEPS);
+    }
+
+    /**
+     * Fill the summary step from the collected values.
+     */
+    @Override
+    protected void onShowStep(@Nonnull WizardStep step, @Nonnull WizardValues values, @Nonnull UICommandBuilder commandBuilder) {
+        if (step != STEPS.get(STEPS.size() - 1)) {
+            return;
+        }
+        Localization localization = TestUIPlugin.get().getLocalization();
+        commandBuilder.set("#SummaryName.Text", values.text("name").trim());
+        commandBuilder.set("#SummaryInterests.Text", interests(localization, values));
+        commandBuilder.set("#SummaryNotifications.Text",
+            localization.text(playerRef, values.checked("notifications") ? "onboarding.on" : "onboarding.off"));
+    }
+
+    /**
+     * The one commit of the wizard. Stands in for writing a player profile.
+     */
+    @Nonnull
+    @Override
+    protected CompletionStage<PageAction> complete(@Nonnull WizardValues values) {
+        return supplyAsync(() -> {
+            Localization localization = TestUIPlugin.get().getLocalization();
+            String name = values.text("name").trim();
+            playerRef.sendMessage(Message.raw(localization.text(playerRef, "onboarding.done", name, interests(localization, values))));
+            TestUIPlugin.get().getNotifications().notify(playerRef,
+                localization.text(playerRef, "onboarding.title"), localization.text(playerRef, "onboarding.welcome", name));
+            return close();
+        });
+    }
+
+    private static boolean hasInterest(WizardValues values) {
+        for (String interest : INTERESTS) {
+            if (values.checked(interest)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The picked interests in the player's language, e.g. "Bauen, PvP".
+     */
+    private String interests(Localization localization, WizardValues values) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (String interest : INTERESTS) {
+            if (values.checked(interest)) {
+                joiner.add(localization.text(playerRef, "onboarding.interest." + interest));
+            }
+        }
+        return joiner.toString();
+    }
+}
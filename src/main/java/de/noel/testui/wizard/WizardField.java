@@ -0,0 +1,31 @@
+package de.noel.testui.wizard;
+
+import javax.annotation.Nonnull;
+
+/**
+ * WizardField - One input of a {@link WizardStep}.
+ *
+ * Every change of the input is sent to the server (ValueChanged) and kept in
+ * the page's {@link WizardValues}, so going back and forth between steps
+ * never loses anything - and Next/Back buttons don't need to carry inputs.
+ *
+ * @param key          Name the value is stored under
+ * @param selector     The input element, e.g. "#NameInput" or "#RulesOption #CheckBox"
+ * @param kind         Text field or checkbox
+ * @param defaultValue Value before the player touched the input (must match the .ui file)
+ */
+public record WizardField(@Nonnull String key, @Nonnull String selector, @Nonnull Kind kind, @Nonnull Object defaultValue) {
+
+    public enum Kind {
+        TEXT,
+        CHECKBOX
+    }
+
+    public static WizardField text(String key, String selector) {
+        return new WizardField(key, selector, Kind.TEXT, "");
+    }
+
+    public static WizardField checkbox(String key, String selector, boolean defaultChecked) {
+        return new WizardField(key, selector, Kind.CHECKBOX, defaultChecked);
+    }
+}
@@ -0,0 +1,259 @@
+package de.noel.testui.wizard;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import de.noel.testui.TestUIPlugin;
+import de.noel.testui.async.AsyncInteractiveCustomUIPage;
+import de.noel.testui.bindings.Binding;
+import de.noel.testui.bindings.BindingRegistry;
+import de.noel.testui.diagnostics.UiTrace;
+import de.noel.testui.i18n.Localization;
+import de.noel.testui.payload.PayloadMeter;
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * WizardPage - A page that walks the player through several steps.
+ *
+ * The frame (Pages/Wizard.ui: title, step counter, buttons) is built once.
+ * Moving to another step only:
+ *
+ *   1. Clears #StepContainer and appends the step's .ui file into it
+ *   2. Sets the step header, the step's translated labels and restores
+ *      values entered earlier
+ *   3. Binds ValueChanged for the step's inputs
+ *
+ * and sends that with sendUpdate() - a small fraction of a full build.
+ * The buttons' bindings are sent once; a {@link BindingRegistry} tracks
+ * them and the current step's input bindings.
+ *
+ * Input is kept server-side in {@link WizardValues} as it is typed, each
+ * step is validated on Next, and {@link #complete} receives all values at
+ * once after the last step - nothing is committed before that.
+ */
+public abstract class WizardPage extends AsyncInteractiveCustomUIPage<WizardPage.WizardEventData> {
+
+    private static final String ACTION_FIELD = "Field";
+    private static final String ACTION_NEXT = "Next";
+    private static final String ACTION_BACK = "Back";
+
+    /**
+     * WizardEventData - Button actions and input changes.
+     *
+     * Input changes carry the field key plus either "@Text" or "@Checked".
+     * Every event carries the id of its binding.
+     */
+    public static class WizardEventData {
+        public String action;
+        public String field;
+        public String text;
+        public boolean checked;
+        public String binding;
+
+        public static final BuilderCodec<WizardEventData> CODEC = BuilderCodec.builder(WizardEventData.class, WizardEventData::new)
+            .append(new KeyedCodec<>("Action", Codec.STRING), (WizardEventData o, String v) -> o.action = v, (WizardEventData o) -> o.action)
+            .add()
+            .append(new KeyedCodec<>("Field", Codec.STRING), (WizardEventData o, String v) -> o.field = v, (WizardEventData o) -> o.field)
+            .add()
+            .append(new KeyedCodec<>("@Text", Codec.STRING), (WizardEventData o, String v) -> o.text = v, (WizardEventData o) -> o.text)
+            .add()
+            .append(new KeyedCodec<>("@Checked", Codec.BOOLEAN), (WizardEventData o, Boolean v) -> o.checked = v, (WizardEventData o) -> o.checked)
+            .add()
+            .append(new KeyedCodec<>(BindingRegistry.ID_KEY, Codec.STRING), (WizardEventData o, String v) -> o.binding = v, (WizardEventData o) -> o.binding)
+            .add()
+            .build();
+    }
+
+    private final String titleKey;
+    private final List<WizardStep> steps;
+    private final WizardValues values;
+
+    // Bindings already on the client - world thread only
+    private final BindingRegistry bindings = new BindingRegistry();
+
+    // Current step - only changed on the world thread
+    private int current;
+    // Set while complete() runs, so a second Finish click does nothing
+    private volatile boolean finishing;
+
+    protected WizardPage(@Nonnull PlayerRef playerRef, @Nonnull String titleKey, @Nonnull List<WizardStep> steps) {
+        super(playerRef, CustomPageLifetime.CanDismissOrCloseThroughInteraction, WizardEventData.CODEC);
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException("A wizard needs at least one step");
+        }
+        this.titleKey = titleKey;
+        this.steps = List.copyOf(steps);
+        this.values = new WizardValues(this.steps);
+    }
+
+    /**
+     * Commit everything the player entered. Called once, after the last step validated.
+     * Runs on the world thread - move slow work into supplyAsync().
+     *
+     * @param values Detached copy of all values
+     * @return Stage completing with the UI action (usually close())
+     */
+    @Nonnull
+    protected abstract CompletionStage<PageAction> complete(@Nonnull WizardValues values);
+
+    /**
+     * Hook for steps that show more than their inputs (e.g. a summary).
+     */
+    protected void onShowStep(@Nonnull WizardStep step, @Nonnull WizardValues values, @Nonnull UICommandBuilder commandBuilder) {
+    }
+
+    @Override
+    public void build(
+        @Nonnull Ref<EntityStore> ref,
+        @Nonnull UICommandBuilder commandBuilder,
+        @Nonnull UIEventBuilder eventBuilder,
+        @Nonnull Store<EntityStore> store
+    ) {
+        UiTrace.Span trace = UiTrace.build(this, playerRef);
+
+        // The frame - stays for the whole wizard
+        Localization localization = TestUIPlugin.get().getLocalization();
+        commandBuilder.append("Pages/Wizard.ui");
+        localization.applyLabels(commandBuilder, playerRef, getClass().getSimpleName());
+        commandBuilder.set("#WizardTitle.Text", localization.text(playerRef, titleKey));
+
+        bindings.reset();
+        bindings.sync(eventBuilder, "buttons", List.of(
+            Binding.activating("#BackButton").with("Action", ACTION_BACK),
+            Binding.activating("#NextButton").with("Action", ACTION_NEXT),
+            Binding.activating("#CancelButton").with("Action", "Cancel")
+        ));
+
+        // The current step (the first one, or where the player was on a rebuild)
+        writeStep(current, commandBuilder, eventBuilder);
+
+        // Count commands/bytes and check them against the page's budget
+        trace.end(PayloadMeter.build(this, commandBuilder, eventBuilder));
+    }
+
+    @Override
+    protected CompletionStage<PageAction> handleDataEventAsync(@Nonnull WizardEventData data) {
+        // Bindings of inputs that were swapped out may still fire - ignore them
+        if (!bindings.accept(data.binding)) {
+            return done(null);
+        }
+
+        if (ACTION_FIELD.equals(data.action)) {
+            // Only accept inputs of the step that is shown
+            WizardField field = steps.get(current).field(data.field);
+            if (field != null) {
+                if (field.kind() == WizardField.Kind.TEXT) {
+                    values.putText(field.key(), data.text != null ? data.text : "");
+                } else {
+                    values.putChecked(field.key(), data.checked);
+                }
+            }
+            return done(null);
+        }
+
+        if (ACTION_BACK.equals(data.action)) {
+            if (current == 0) {
+                return done(null);
+            }
+            current--;
+            return done(showStep(current));
+        }
+
+        if (ACTION_NEXT.equals(data.action)) {
+            if (finishing) {
+                return done(null);
+            }
+            String error = steps.get(current).validator().validate(values);
+            if (error != null) {
+                return done(showError(error));
+            }
+            if (current == steps.size() - 1) {
+                finishing = true;
+                // Allow another try if the commit failed
+                return complete(values.copy()).whenComplete((action, failure) -> {
+                    if (failure != null) {
+                        finishing = false;
+                    }
+                });
+            }
+            current++;
+            return done(showStep(current));
+        }
+
+        return done(close());
+    }
+
+    /**
+     * Swap the step container to another step.
+     */
+    private PageAction showStep(int index) {
+        return (ref, store) -> {
+            UICommandBuilder update = new UICommandBuilder();
+            UIEventBuilder events = new UIEventBuilder();
+            update.clear("#StepContainer");
+            // The old step's inputs are gone on the client, and so are their bindings
+            bindings.forget("step");
+            writeStep(index, update, events);
+            PayloadMeter.update(this, update, events);
+            sendUpdate(update, events, false);
+        };
+    }
+
+    private PageAction showError(String messageKey) {
+        return (ref, store) -> {
+            UICommandBuilder update = new UICommandBuilder();
+            update.set("#ErrorLabel.Text", TestUIPlugin.get().getLocalization().text(playerRef, messageKey));
+            update.set("#ErrorLabel.Visible", true);
+            PayloadMeter.update(this, update, null);
+            sendUpdate(update, false);
+        };
+    }
+
+    private void writeStep(int index, UICommandBuilder commandBuilder, UIEventBuilder eventBuilder) {
+        Localization localization = TestUIPlugin.get().getLocalization();
+        WizardStep step = steps.get(index);
+        boolean last = index == steps.size() - 1;
+
+        commandBuilder.append("#StepContainer", step.document());
+        // Labels of the step's elements: label.<Page>.<document name>.<selector>
+        localization.applyLabels(commandBuilder, playerRef, getClass().getSimpleName() + "." + step.name());
+        commandBuilder.set("#StepCounter.Text", localization.text(playerRef, "wizard.step", index + 1, steps.size()));
+        commandBuilder.set("#StepTitle.Text", localization.text(playerRef, step.titleKey()));
+        commandBuilder.set("#ErrorLabel.Visible", false);
+        commandBuilder.set("#BackButton.Visible", index > 0);
+        commandBuilder.set("#NextButton.Text", localization.text(playerRef, last ? "wizard.finish" : "wizard.next"));
+
+        List<Binding> fieldBindings = new ArrayList<>(step.fields().size());
+        for (WizardField field : step.fields()) {
+            // The .ui file already shows the default - only restore what the player changed
+            Object value = values.get(field.key());
+            if (!Objects.equals(value, field.defaultValue())) {
+                if (field.kind() == WizardField.Kind.TEXT) {
+                    commandBuilder.set(field.selector() + ".Value", (String) value);
+                } else {
+                    commandBuilder.set(field.selector() + ".Value", (Boolean) value);
+                }
+            }
+
+            // Keep the server copy up to date while the player types
+            fieldBindings.add(Binding.valueChanged(field.selector())
+                .with("Action", ACTION_FIELD)
+                .with("Field", field.key())
+                .with(field.kind() == WizardField.Kind.TEXT ? "@Text" : "@Checked", field.selector() + ".Value"));
+        }
+        bindings.sync(eventBuilder, "step", fieldBindings);
+
+        onShowStep(step, values, commandBuilder);
+    }
+}
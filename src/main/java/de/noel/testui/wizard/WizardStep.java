@@ -0,0 +1,64 @@
+package de.noel.testui.wizard;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * WizardStep - One screen of a {@link WizardPage}.
+ *
+ * @param titleKey  Message key of the step title
+ * @param document  .ui file appended into #StepContainer
+ * @param fields    Inputs of this step
+ * @param validator Checked when the player presses Next/Finish
+ */
+public record WizardStep(
+    @Nonnull String titleKey,
+    @Nonnull String document,
+    @Nonnull List<WizardField> fields,
+    @Nonnull Validator validator
+) {
+
+    /**
+     * Validates the values collected so far.
+     */
+    @FunctionalInterface
+    public interface Validator {
+        /**
+         * @return Message key of the error to show, or null if the step is complete
+         */
+        @Nullable
+        String validate(@Nonnull WizardValues values);
+    }
+
+    /**
+     * A step that is always valid.
+     */
+    public static WizardStep of(String titleKey, String document, WizardField... fields) {
+        return new WizardStep(titleKey, document, List.of(fields), values -> null);
+    }
+
+    public WizardStep validatedBy(@Nonnull Validator validator) {
+        return new WizardStep(titleKey, document, fields, validator);
+    }
+
+    /**
+     * File name of the document without folder and extension, e.g. "OnboardingRules".
+     */
+    @Nonnull
+    public String name() {
+        int start = document.lastIndexOf('/') + 1;
+        int end = document.endsWith(".ui") ? document.length() - 3 : document.length();
+        return document.substring(start, end);
+    }
+
+    @Nullable
+    WizardField field(@Nullable String key) {
+        for (WizardField field : fields) {
+            if (field.key().equals(key)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
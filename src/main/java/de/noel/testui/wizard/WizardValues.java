@@ -0,0 +1,63 @@
+package de.noel.testui.wizard;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WizardValues - Everything a player entered in a wizard so far.
+ *
+ * Lives server-side in the page for as long as the wizard is open. Only
+ * touched on the world thread; {@link #copy()} hands a detached copy to the
+ * final commit.
+ */
+public final class WizardValues {
+
+    // Longer text input is cut off - the client should never make us store more
+    private static final int MAX_TEXT_LENGTH = 256;
+
+    private final Map<String, Object> values;
+
+    WizardValues(@Nonnull List<WizardStep> steps) {
+        values = new HashMap<>();
+        for (WizardStep step : steps) {
+            for (WizardField field : step.fields()) {
+                values.put(field.key(), field.defaultValue());
+            }
+        }
+    }
+
+    @Nonnull
+    public String text(@Nonnull String key) {
+        return values.get(key) instanceof String text ? text : "";
+    }
+
+    public boolean checked(@Nonnull String key) {
+        return values.get(key) instanceof Boolean checked && checked;
+    }
+
+    private WizardValues(@Nonnull Map<String, Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * Copy for code running off the world thread; later input does not change it.
+     */
+    @Nonnull
+    public WizardValues copy() {
+        return new WizardValues(Map.copyOf(values));
+    }
+
+    Object get(@Nonnull String key) {
+        return values.get(key);
+    }
+
+    void putText(@Nonnull String key, @Nonnull String text) {
+        values.put(key, text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text);
+    }
+
+    void putChecked(@Nonnull String key, boolean checked) {
+        values.put(key, checked);
+    }
+}
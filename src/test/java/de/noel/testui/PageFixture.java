@@ -0,0 +1,292 @@
+package de.noel.testui;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBinding;
+import com.hypixel.hytale.server.core.entity.entities.player.pages.CustomUIPage;
+import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCustomUIPage;
+import com.hypixel.hytale.server.core.entity.entities.player.pages.PageManager;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import de.noel.testui.async.AsyncInteractiveCustomUIPage;
+import de.noel.testui.async.AsyncUiExecutor;
+import de.noel.testui.bindings.BindingRegistry;
+import de.noel.testui.cluster.ClusterStats;
+import de.noel.testui.drafts.DraftCache;
+import de.noel.testui.drafts.FormDraft;
+import de.noel.testui.fragments.FragmentCache;
+import de.noel.testui.grid.DataGridPage;
+import de.noel.testui.grid.GridColumn;
+import de.noel.testui.grid.GridModel;
+import de.noel.testui.i18n.Localization;
+import de.noel.testui.pages.FormPage;
+import de.noel.testui.pages.InfoPanelPage;
+import de.noel.testui.session.PageSessions;
+import de.noel.testui.stats.NetworkStats;
+import de.noel.testui.stats.WorldStats;
+import de.noel.testui.tutorial.level3.Tutorial3Dashboard;
+import de.noel.testui.tutorial.level3.Tutorial3Page;
+import de.noel.testui.wizard.OnboardingPage;
+import javax.annotation.Nonnull;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * PageFixture - Builds pages outside a server.
+ *
+ * Installs a mocked {@link TestUIPlugin} backed by the real services
+ * (localization, fragment cache, drafts, ...) and a mocked player, then
+ * calls build() with real command/event builders. Everything time- or
+ * data-dependent is fixed, so a build gives the same payload on every run.
+ *
+ * Tasks handed to the player's world are queued and only run by
+ * {@link #runWorldTasks}, like a later tick of a real world would.
+ *
+ * Every call on a Mockito mock allocates a few KB of bookkeeping, which
+ * would dwarf what a handler allocates itself. {@link #handle} therefore
+ * measures its own allocation and leaves out that overhead.
+ */
+public final class PageFixture {
+
+    public static final UUID PLAYER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    /** 2026-01-01 12:03:30 UTC - the server "started" two hours earlier. */
+    public static final long NOW = 1_767_269_010_000L;
+
+    /**
+     * One build's output.
+     */
+    public record Build(@Nonnull CustomUIPage page, @Nonnull UICommandBuilder commands, @Nonnull UIEventBuilder events) {
+    }
+
+    private final TestUIPlugin plugin = mock(TestUIPlugin.class);
+    private final PlayerRef playerRef = mock(PlayerRef.class);
+    private final Player player = mock(Player.class);
+    private final PageManager pageManager = mock(PageManager.class);
+    private final World world = mock(World.class);
+    private final Queue<Runnable> worldTasks = new ConcurrentLinkedQueue<>();
+    private final Ref<EntityStore> ref;
+    private final Store<EntityStore> store;
+    private final DraftCache<FormDraft> drafts = new DraftCache<>(1000, 60_000, 100);
+
+    // Per-thread allocation counter and what one call on a mock costs
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final long bytesPerMockCall;
+
+    @SuppressWarnings("unchecked")
+    public PageFixture() throws Exception {
+        when(plugin.getLocalization()).thenReturn(new Localization("en", "de"));
+        when(plugin.getFragmentCache()).thenReturn(new FragmentCache(16));
+        when(plugin.getFormDrafts()).thenReturn(drafts);
+        when(plugin.getDashboard()).thenReturn(new Tutorial3Dashboard(() -> NOW, NOW - 2 * 60 * 60 * 1000));
+        when(plugin.getAsyncExecutor()).thenReturn(new AsyncUiExecutor(1, 1));
+        Path sessions = Files.createTempDirectory("testui-sessions").resolve("sessions.bin");
+        when(plugin.getPageSessions()).thenReturn(new PageSessions(sessions, 60_000));
+        install(plugin);
+
+        when(playerRef.getUuid()).thenReturn(PLAYER_ID);
+        when(playerRef.getUsername()).thenReturn("Tester");
+        when(playerRef.getLanguage()).thenReturn("en");
+
+        ref = mock(Ref.class);
+        store = mock(Store.class);
+        EntityStore entityStore = mock(EntityStore.class);
+        when(ref.isValid()).thenReturn(true);
+        when(ref.getStore()).thenReturn(store);
+        when(store.getExternalData()).thenReturn(entityStore);
+        when(entityStore.getWorld()).thenReturn(world);
+        doAnswer(call -> worldTasks.add(call.getArgument(0))).when(world).execute(any());
+        doReturn(player).when(store).getComponent(any(), any());
+        when(player.getPageManager()).thenReturn(pageManager);
+
+        bytesPerMockCall = measureMockCall();
+    }
+
+    /**
+     * Every page that has a budget, created from fixed inputs - keyed by class name.
+     */
+    @Nonnull
+    public Map<String, Function<PlayerRef, CustomUIPage>> budgetedPages() {
+        Map<String, Function<PlayerRef, CustomUIPage>> pages = new LinkedHashMap<>();
+        pages.put("InfoPanelPage", p -> new InfoPanelPage(p, stats(), ClusterStats.EMPTY));
+        pages.put("Tutorial3Page", p -> new Tutorial3Page(p, 42, 7));
+        pages.put("FormPage", p -> new FormPage(p, drafts));
+        pages.put("DataGridPage", p -> new DataGridPage(p, "Economy Ledger", ledger(40)));
+        pages.put("OnboardingPage", OnboardingPage::new);
+        return pages;
+    }
+
+    /**
+     * Apply the plugin's budgets (payload and allocation).
+     */
+    public static void configureBudgets() {
+        TestUIPlugin.configureBudgets();
+    }
+
+    @Nonnull
+    public Build build(@Nonnull Function<PlayerRef, CustomUIPage> factory) {
+        CustomUIPage page = factory.apply(playerRef);
+        UICommandBuilder commands = new UICommandBuilder();
+        UIEventBuilder events = new UIEventBuilder();
+        page.build(ref, commands, events, store);
+        return new Build(page, commands, events);
+    }
+
+    /**
+     * Dispatch decoded event data to a built page's typed handler, as the
+     * current page of the player. The server would decode the raw event
+     * data with the page's codec first; that part is not covered.
+     *
+     * @return Bytes the handler allocated on this thread, without the fixture's mock calls
+     */
+    @SuppressWarnings("unchecked")
+    public long handle(@Nonnull Build build, @Nonnull Object data) {
+        InteractiveCustomUIPage<Object> page = (InteractiveCustomUIPage<Object>) build.page();
+        when(pageManager.getCustomPage()).thenReturn(page);
+
+        long callsBefore = mockCalls();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        page.handleDataEvent(ref, store, data);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return Math.max(0, allocated - (mockCalls() - callsBefore) * bytesPerMockCall);
+    }
+
+    /**
+     * Run what was handed to the player's world so far.
+     *
+     * @return Number of tasks that ran
+     */
+    public int runWorldTasks() {
+        int count = 0;
+        Runnable task;
+        while ((task = worldTasks.poll()) != null) {
+            task.run();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Id of the binding a build attached to a selector, as sent in its EventData.
+     */
+    @Nonnull
+    public static String bindingId(@Nonnull Build build, @Nonnull String selector) {
+        Pattern id = Pattern.compile("\"" + BindingRegistry.ID_KEY + "\"\\s*:\\s*\"([^\"]*)\"");
+        for (CustomUIEventBinding binding : build.events().getEvents()) {
+            if (selector.equals(binding.selector) && binding.data != null) {
+                Matcher matcher = id.matcher(binding.data);
+                if (matcher.find()) {
+                    return matcher.group(1);
+                }
+            }
+        }
+        throw new IllegalArgumentException("No binding on " + selector);
+    }
+
+    /**
+     * The mocked plugin - re-stub it to swap a service for one test.
+     */
+    @Nonnull
+    public TestUIPlugin getPlugin() {
+        return plugin;
+    }
+
+    @Nonnull
+    public PlayerRef getPlayerRef() {
+        return playerRef;
+    }
+
+    @Nonnull
+    public Player getPlayer() {
+        return player;
+    }
+
+    @Nonnull
+    public PageManager getPageManager() {
+        return pageManager;
+    }
+
+    @Nonnull
+    public DraftCache<FormDraft> getDrafts() {
+        return drafts;
+    }
+
+    private static NetworkStats stats() {
+        WorldStats[] worlds = {
+            new WorldStats("default", 12, 3400, 850),
+            new WorldStats("arena", 4, 620, 1200)
+        };
+        return NetworkStats.of(worlds, NOW);
+    }
+
+    /**
+     * An economy ledger with the given number of rows.
+     */
+    @Nonnull
+    public static GridModel ledger(int rows) {
+        GridModel model = new GridModel(
+            GridColumn.ofString("player", "Player"),
+            GridColumn.ofLong("balance", "Balance"),
+            GridColumn.ofInt("tx", "Transactions"),
+            GridColumn.ofDouble("avg", "Avg. Tx")
+        );
+        for (int i = 0; i < rows; i++) {
+            int row = model.addRow();
+            model.setString(row, 0, "Player" + (1000 + i * 37));
+            model.setLong(row, 1, 1000L * i + 17);
+            model.setInt(row, 2, i % 9);
+            model.setDouble(row, 3, i * 1.25);
+        }
+        return model;
+    }
+
+    private long mockCalls() {
+        long calls = 0;
+        for (Object mock : new Object[]{plugin, playerRef, player, pageManager, world, ref, store}) {
+            calls += mockingDetails(mock).getInvocations().size();
+        }
+        return calls;
+    }
+
+    /**
+     * Average allocation of a stubbed call without arguments - the cheapest
+     * kind, so handlers are never credited with more than the mocks cost.
+     */
+    private long measureMockCall() {
+        for (int i = 0; i < 1000; i++) {
+            playerRef.getUuid();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100; i++) {
+            playerRef.getUuid();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / 100;
+    }
+
+    private static void install(TestUIPlugin plugin) throws ReflectiveOperationException {
+        Field instance = TestUIPlugin.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        instance.set(null, plugin);
+    }
+}
@@ -0,0 +1,123 @@
+package de.noel.testui.cluster;
+
+import de.noel.testui.stats.NetworkStats;
+import de.noel.testui.stats.WorldStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusterStatsViewTest {
+
+    private static final long INTERVAL = 1000;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private LocalStatsTransport.Hub hub;
+    private ClusterStatsView a;
+    private ClusterStatsView b;
+
+    @BeforeEach
+    void setUp() {
+        hub = new LocalStatsTransport.Hub();
+        a = view("a", 10);
+        b = view("b", 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        a.close();
+        b.close();
+    }
+
+    @Test
+    void mergesBothNodes() {
+        a.publish();
+        b.publish();
+
+        ClusterStats stats = a.getSnapshot();
+        assertEquals(2, stats.nodeCount());
+        assertEquals(15, stats.players());
+        assertEquals(0, stats.staleNodes());
+        assertTrue(stats.nodes().get(0).local());
+    }
+
+    @Test
+    void ignoresOlderSnapshots() {
+        b.publish();
+        long newer = clock.get();
+
+        byte[] older = new NodeSnapshot("b", newer - 1, 99, 0, 1, 0).encode();
+        a.receive(older);
+        a.publish();
+
+        assertEquals(10 + 5, a.getSnapshot().players());
+    }
+
+    @Test
+    void silentNodeBecomesStaleThenExpires() {
+        a.publish();
+        b.publish();
+        b.close();
+
+        clock.addAndGet(3 * INTERVAL + 1);
+        a.publish();
+        ClusterStats stale = a.getSnapshot();
+        assertEquals(2, stale.nodeCount());
+        assertEquals(1, stale.staleNodes());
+        // Stale nodes keep their last counts
+        assertEquals(15, stale.players());
+
+        clock.addAndGet(9 * INTERVAL);
+        a.publish();
+        ClusterStats expired = a.getSnapshot();
+        assertEquals(1, expired.nodeCount());
+        assertEquals(0, expired.staleNodes());
+        assertEquals(10, expired.players());
+    }
+
+    @Test
+    void staleNodeRecoversWithNextSnapshot() {
+        a.publish();
+        b.publish();
+
+        clock.addAndGet(3 * INTERVAL + 1);
+        a.publish();
+        assertEquals(1, a.getSnapshot().staleNodes());
+
+        b.publish();
+        assertEquals(0, a.getSnapshot().staleNodes());
+        assertFalse(a.getSnapshot().nodes().get(1).stale());
+    }
+
+    @Test
+    void invalidSystemPropertiesFallBackToSingleNode() {
+        System.setProperty("testui.cluster.node", "");
+        System.setProperty("testui.cluster.port", "not-a-port");
+        try {
+            ClusterStatsView view = ClusterStatsView.fromSystemProperties(() -> NetworkStats.EMPTY, INTERVAL);
+            assertNotNull(view.getNodeId());
+            assertFalse(view.getNodeId().isEmpty());
+            view.publish();
+            assertEquals(1, view.getSnapshot().nodeCount());
+            view.close();
+        } finally {
+            System.clearProperty("testui.cluster.node");
+            System.clearProperty("testui.cluster.port");
+        }
+    }
+
+    private ClusterStatsView view(String nodeId, int players) {
+        NetworkStats stats = NetworkStats.of(new WorldStats[] {new WorldStats("default", players, 100, 500)}, 1);
+        LocalStatsTransport transport = hub.join();
+        ClusterStatsView view = new ClusterStatsView(nodeId, transport, () -> stats, INTERVAL, clock::get);
+        // Like start(), without scheduling - the tests publish by hand
+        transport.start(view::receive);
+        return view;
+    }
+}
@@ -0,0 +1,61 @@
+package de.noel.testui.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NodeSnapshotTest {
+
+    private static final NodeSnapshot SNAPSHOT = new NodeSnapshot("node-1a2b3c4d", 1_767_269_010_000L, 12, 3400, 2, 1200);
+
+    @Test
+    void roundTrip() {
+        byte[] data = SNAPSHOT.encode();
+        assertEquals(SNAPSHOT, NodeSnapshot.decode(data, 0, data.length));
+    }
+
+    @Test
+    void decodesFromOffset() {
+        byte[] data = SNAPSHOT.encode();
+        byte[] framed = new byte[data.length + 8];
+        System.arraycopy(data, 0, framed, 4, data.length);
+        assertEquals(SNAPSHOT, NodeSnapshot.decode(framed, 4, data.length));
+    }
+
+    @Test
+    void sizeIsFixedPartPlusNodeId() {
+        assertEquals(NodeSnapshot.FIXED_BYTES + SNAPSHOT.nodeId().length(), SNAPSHOT.encode().length);
+        assertEquals(44, SNAPSHOT.encode().length);
+    }
+
+    @Test
+    void rejectsTruncatedData() {
+        byte[] data = SNAPSHOT.encode();
+        for (int length = 0; length < data.length; length++) {
+            int cut = length;
+            assertThrows(IllegalArgumentException.class, () -> NodeSnapshot.decode(data, 0, cut), "length " + cut);
+        }
+    }
+
+    @Test
+    void rejectsTrailingBytes() {
+        byte[] data = Arrays.copyOf(SNAPSHOT.encode(), 512);
+        assertThrows(IllegalArgumentException.class, () -> NodeSnapshot.decode(data, 0, data.length));
+    }
+
+    @Test
+    void rejectsOversizedNodeId() {
+        byte[] data = new NodeSnapshot("n".repeat(NodeSnapshot.MAX_NODE_ID_LENGTH + 1), 1, 0, 0, 0, 0).encode();
+        assertThrows(IllegalArgumentException.class, () -> NodeSnapshot.decode(data, 0, data.length));
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] data = SNAPSHOT.encode();
+        data[0] = 99;
+        assertThrows(IllegalArgumentException.class, () -> NodeSnapshot.decode(data, 0, data.length));
+    }
+}
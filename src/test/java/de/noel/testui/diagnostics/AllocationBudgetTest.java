@@ -0,0 +1,167 @@
+package de.noel.testui.diagnostics;
+
+import com.hypixel.hytale.server.core.entity.entities.player.pages.CustomUIPage;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import de.noel.testui.PageFixture;
+import de.noel.testui.grid.DataGridPage;
+import de.noel.testui.grid.GridModel;
+import de.noel.testui.pages.FormPage;
+import de.noel.testui.pages.InfoPanelPage;
+import de.noel.testui.tutorial.level3.Tutorial3Page;
+import de.noel.testui.wizard.WizardPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AllocationBudgetTest - Builds each budgeted page in strict mode, so going
+ * over its allocation budget fails the test, and checks what typical events
+ * allocate in the page's handler against its handler budget.
+ *
+ * The first builds and events load classes and fill caches, which a running
+ * server only pays once - so the pages are warmed up before measuring.
+ */
+class AllocationBudgetTest {
+
+    private static final String STRICT = "testui.alloc.strict";
+    private static final int WARM_UP_BUILDS = 5;
+    private static final int WARM_UP_ROUNDS = 5;
+
+    /** The grid's handler budget is sized for filtering and sorting this many rows. */
+    private static final int LARGE_LEDGER_ROWS = 50_000;
+
+    /**
+     * Events a page receives in one round, created from its build (for the binding ids).
+     */
+    private record HandlerCase(String name, Function<PlayerRef, CustomUIPage> page, Function<PageFixture.Build, List<Object>> events) {
+    }
+
+    private static PageFixture fixture;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        fixture = new PageFixture();
+        PageFixture.configureBudgets();
+    }
+
+    @AfterEach
+    void leaveStrictMode() {
+        System.clearProperty(STRICT);
+    }
+
+    @TestFactory
+    List<DynamicTest> buildsStayWithinBudget() {
+        return fixture.budgetedPages().entrySet().stream()
+            .map(entry -> DynamicTest.dynamicTest(entry.getKey(), () -> checkBuild(entry.getValue())))
+            .toList();
+    }
+
+    @TestFactory
+    List<DynamicTest> handlersStayWithinBudget() {
+        Function<PlayerRef, CustomUIPage> info = fixture.budgetedPages().get("InfoPanelPage");
+        Function<PlayerRef, CustomUIPage> tutorial = fixture.budgetedPages().get("Tutorial3Page");
+        Function<PlayerRef, CustomUIPage> onboarding = fixture.budgetedPages().get("OnboardingPage");
+        GridModel ledger = PageFixture.ledger(LARGE_LEDGER_ROWS);
+
+        List<HandlerCase> cases = List.of(
+            new HandlerCase("InfoPanelPage", info, build -> List.of(
+                info(build, "#MenuWorlds", InfoPanelPage.TAB_WORLDS),
+                info(build, "#MenuOverview", InfoPanelPage.TAB_OVERVIEW))),
+            new HandlerCase("Tutorial3Page", tutorial, build -> List.of(
+                new Tutorial3Page.CloseEventData())),
+            new HandlerCase("FormPage", p -> new FormPage(p, fixture.getDrafts()), build -> List.of(
+                draft(build, "Steve"),
+                draft(build, "Steve2"))),
+            new HandlerCase("DataGridPage", p -> new DataGridPage(p, "Economy Ledger", ledger), build -> List.of(
+                grid(build, "#Header1", "Sort", "1", null),
+                grid(build, "#Header1", "Sort", "1", null),
+                grid(build, "#FilterButton", "Filter", null, "balance>1000000"),
+                grid(build, "#NextButton", "Next", null, null),
+                grid(build, "#FilterButton", "Filter", null, ""))),
+            new HandlerCase("OnboardingPage", onboarding, build -> List.of(
+                wizard(build, "#NameInput", "Field", "name", "Steve"),
+                wizard(build, "#NextButton", "Next", null, null),
+                wizard(build, "#BackButton", "Back", null, null)))
+        );
+        return cases.stream()
+            .map(handlerCase -> DynamicTest.dynamicTest(handlerCase.name(), () -> checkHandlers(handlerCase)))
+            .toList();
+    }
+
+    private static void checkBuild(Function<PlayerRef, CustomUIPage> factory) {
+        Class<?> pageClass = fixture.build(factory).page().getClass();
+        assertNotEquals(AllocationBudget.UNLIMITED, UiTrace.getAllocationBudget(pageClass), pageClass.getSimpleName() + " has no budget");
+
+        for (int i = 0; i < WARM_UP_BUILDS; i++) {
+            fixture.build(factory);
+        }
+        System.setProperty(STRICT, "true");
+        try {
+            assertDoesNotThrow(() -> fixture.build(factory));
+        } finally {
+            System.clearProperty(STRICT);
+        }
+    }
+
+    private static void checkHandlers(HandlerCase handlerCase) {
+        PageFixture.Build build = fixture.build(handlerCase.page());
+        Class<?> pageClass = build.page().getClass();
+        assertEquals(handlerCase.name(), pageClass.getSimpleName());
+        assertNotEquals(Long.MAX_VALUE, UiTrace.getAllocationBudget(pageClass).maxHandlerBytes(), pageClass.getSimpleName() + " has no handler budget");
+
+        // Measured by the fixture, which leaves out its own mock calls
+        long budget = UiTrace.getAllocationBudget(pageClass).maxHandlerBytes();
+        List<Object> events = handlerCase.events().apply(build);
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            events.forEach(data -> fixture.handle(build, data));
+        }
+        for (int i = 0; i < events.size(); i++) {
+            long allocated = fixture.handle(build, events.get(i));
+            assertTrue(allocated <= budget,
+                pageClass.getSimpleName() + " event " + i + " allocated " + allocated + " bytes (budget: " + budget + " bytes)");
+        }
+    }
+
+    private static InfoPanelPage.InfoEventData info(PageFixture.Build build, String selector, String action) {
+        InfoPanelPage.InfoEventData data = new InfoPanelPage.InfoEventData();
+        data.action = action;
+        data.binding = PageFixture.bindingId(build, selector);
+        return data;
+    }
+
+    private static FormPage.FormEventData draft(PageFixture.Build build, String name) {
+        FormPage.FormEventData data = new FormPage.FormEventData();
+        data.action = "Draft";
+        data.playerName = name;
+        data.notifications = true;
+        data.binding = PageFixture.bindingId(build, "#NameInput");
+        return data;
+    }
+
+    private static DataGridPage.GridEventData grid(PageFixture.Build build, String selector, String action, String column, String filter) {
+        DataGridPage.GridEventData data = new DataGridPage.GridEventData();
+        data.action = action;
+        data.column = column;
+        data.filter = filter;
+        data.binding = PageFixture.bindingId(build, selector);
+        return data;
+    }
+
+    private static WizardPage.WizardEventData wizard(PageFixture.Build build, String selector, String action, String field, String text) {
+        WizardPage.WizardEventData data = new WizardPage.WizardEventData();
+        data.action = action;
+        data.field = field;
+        data.text = text;
+        data.binding = PageFixture.bindingId(build, selector);
+        return data;
+    }
+}
@@ -0,0 +1,66 @@
+package de.noel.testui.drafts;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DraftCacheTest {
+
+    private static final UUID PLAYER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Test
+    void sweepCommitsQuietDrafts() {
+        DraftCache<String> cache = new DraftCache<>(0, 60_000, 10);
+        cache.stage(PLAYER, "draft");
+        cache.sweep();
+        assertEquals("draft", cache.get(PLAYER));
+    }
+
+    @Test
+    void discardedDraftIsNotCommittedBySweep() {
+        DraftCache<String> cache = new DraftCache<>(0, 60_000, 10);
+        cache.stage(PLAYER, "draft");
+        cache.discard(PLAYER);
+        cache.sweep();
+        cache.flush(PLAYER);
+        assertNull(cache.get(PLAYER));
+    }
+
+    @Test
+    void expiredDraftsAreDropped() {
+        AtomicLong now = new AtomicLong();
+        DraftCache<String> cache = new DraftCache<>(0, 20, 10, now::get);
+        cache.stage(PLAYER, "draft");
+        cache.flush(PLAYER);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(19));
+        cache.sweep();
+        assertEquals("draft", cache.get(PLAYER));
+
+        // get() renewed the TTL, so it runs 20 ms from here
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+        cache.sweep();
+        assertNull(cache.get(PLAYER));
+    }
+
+    @Test
+    void leastRecentlyUsedDraftIsEvicted() {
+        DraftCache<String> cache = new DraftCache<>(0, 60_000, 2);
+        UUID other = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        cache.stage(PLAYER, "a");
+        cache.flush(PLAYER);
+        cache.stage(other, "b");
+        cache.flush(other);
+        cache.get(PLAYER);
+        cache.stage(third, "c");
+        cache.flush(third);
+        assertEquals("a", cache.get(PLAYER));
+        assertNull(cache.get(other));
+    }
+}
@@ -0,0 +1,61 @@
+package de.noel.testui.grid;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GridModelTest {
+
+    @Test
+    void rowAddedAfterRemovalStartsFromDefaults() {
+        GridModel model = ledger();
+        // Sort indexes exist before the removal, so the new row is inserted into them
+        model.query(1, false, "");
+        model.query(2, false, "");
+        model.query(3, false, "");
+
+        model.removeRow(1);
+        int row = model.addRow();
+
+        assertEquals(2, row);
+        assertArrayEquals(new String[]{"", "0", "0", "0.00"}, model.formatRowIfPresent(row));
+        // Defaults sort first in every numeric column
+        assertEquals(row, model.query(1, false, "")[0]);
+        assertEquals(row, model.query(2, false, "")[0]);
+        assertEquals(row, model.query(3, false, "")[0]);
+    }
+
+    @Test
+    void removalMovesLastRowIntoFreedSlot() {
+        GridModel model = ledger();
+        model.query(1, false, "");
+
+        model.removeRow(0);
+
+        assertEquals(2, model.getRowCount());
+        assertArrayEquals(new String[]{"carol", "300", "3", "3.50"}, model.formatRowIfPresent(0));
+        assertArrayEquals(new int[]{1, 0}, model.query(1, false, ""));
+    }
+
+    private static GridModel ledger() {
+        GridModel model = new GridModel(
+            GridColumn.ofString("player", "Player"),
+            GridColumn.ofLong("balance", "Balance"),
+            GridColumn.ofInt("tx", "Transactions"),
+            GridColumn.ofDouble("avg", "Avg. Tx")
+        );
+        add(model, "alice", 100, 1, 1.5);
+        add(model, "bob", 200, 2, 2.5);
+        add(model, "carol", 300, 3, 3.5);
+        return model;
+    }
+
+    private static void add(GridModel model, String player, long balance, int tx, double avg) {
+        int row = model.addRow();
+        model.setString(row, 0, player);
+        model.setLong(row, 1, balance);
+        model.setInt(row, 2, tx);
+        model.setDouble(row, 3, avg);
+    }
+}
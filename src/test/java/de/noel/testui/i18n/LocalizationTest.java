@@ -0,0 +1,63 @@
+package de.noel.testui.i18n;
+
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocalizationTest {
+
+    private final Localization localization = new Localization("en", "de");
+
+    @Test
+    void resolvesTagsToLoadedLocales() {
+        assertEquals("de", localization.localeOf(player("de")));
+        assertEquals("de", localization.localeOf(player("DE")));
+        assertEquals("de", localization.localeOf(player("de-AT")));
+        assertEquals("de", localization.localeOf(player("de_ch")));
+        assertEquals("en", localization.localeOf(player("en-US")));
+    }
+
+    @Test
+    void unknownTagsFallBackToDefault() {
+        assertEquals("en", localization.localeOf(player("fr-FR")));
+        assertEquals("en", localization.localeOf(player("deu")));
+        assertEquals("en", localization.localeOf(player("")));
+        assertEquals("en", localization.localeOf(player(null)));
+    }
+
+    @Test
+    void labelsOnlyExistForNonDefaultLocales() {
+        assertEquals(0, localization.labels("en", "Tutorial3Page").length);
+        assertNotEquals(0, localization.labels("de", "Tutorial3Page").length);
+        assertNotEquals(0, localization.labels("de", "StyledDialogPage").length);
+    }
+
+    @Test
+    void labelGroupsMayContainDots() {
+        // The page's own labels do not include those of its wizard steps
+        assertEquals(List.of("#BackButton.Text", "#CancelButton.Text"), selectors(localization.labels("de", "OnboardingPage")));
+        assertEquals(List.of("#Rule1.Text", "#Rule2.Text", "#Rule3.Text"), selectors(localization.labels("de", "OnboardingPage.OnboardingRules")));
+    }
+
+    private static List<String> selectors(String[] labels) {
+        List<String> selectors = new ArrayList<>();
+        for (int i = 0; i < labels.length; i += 2) {
+            selectors.add(labels[i]);
+        }
+        selectors.sort(null);
+        return selectors;
+    }
+
+    private static PlayerRef player(String language) {
+        PlayerRef player = mock(PlayerRef.class);
+        when(player.getLanguage()).thenReturn(language);
+        return player;
+    }
+}
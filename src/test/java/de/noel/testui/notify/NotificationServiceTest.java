@@ -0,0 +1,106 @@
+package de.noel.testui.notify;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+class NotificationServiceTest {
+
+    // Every Message.raw() text, in the order the flush built them
+    private final List<String> sent = new ArrayList<>();
+    private MockedStatic<Message> messages;
+    private PlayerRef player;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        messages = mockStatic(Message.class);
+        messages.when(() -> Message.raw(anyString())).thenAnswer(call -> {
+            sent.add(call.getArgument(0));
+            return mock(Message.class);
+        });
+
+        World world = mock(World.class);
+        doAnswer(call -> {
+            call.<Runnable>getArgument(0).run();
+            return null;
+        }).when(world).execute(any());
+        EntityStore entityStore = mock(EntityStore.class);
+        when(entityStore.getWorld()).thenReturn(world);
+        Store<EntityStore> store = mock(Store.class);
+        when(store.getExternalData()).thenReturn(entityStore);
+        Ref<EntityStore> ref = mock(Ref.class);
+        when(ref.isValid()).thenReturn(true);
+        when(ref.getStore()).thenReturn(store);
+
+        player = mock(PlayerRef.class);
+        when(player.getUuid()).thenReturn(UUID.randomUUID());
+        when(player.getReference()).thenReturn(ref);
+    }
+
+    @AfterEach
+    void tearDown() {
+        messages.close();
+    }
+
+    @Test
+    void distinctTitlesAreShownOneAfterAnother() {
+        NotificationService service = new NotificationService(0);
+        service.notify(player, "Quest complete", "The Lost Sword");
+        service.notify(player, "Level up!", "Level 5");
+
+        service.flush();
+        assertEquals(List.of("Quest complete", "The Lost Sword"), sent);
+
+        service.flush();
+        assertEquals(List.of("Quest complete", "The Lost Sword", "Level up!", "Level 5"), sent);
+
+        service.flush();
+        assertEquals(4, sent.size());
+    }
+
+    @Test
+    void identicalTitlesAreCollapsed() {
+        NotificationService service = new NotificationService(0);
+        service.notify(player, "Level up!", "Level 5");
+        service.notify(player, "Quest complete", "The Lost Sword");
+        service.notify(player, "Level up!", "Level 5");
+        service.add(player, "coins", 5);
+        service.add(player, "coins", 15);
+
+        service.flush();
+
+        assertEquals(List.of("Level up! (x2)", "Level 5, +20 coins"), sent);
+    }
+
+    @Test
+    void titlesWaitForTheMinimumInterval() {
+        NotificationService service = new NotificationService(60_000);
+        service.notify(player, "Quest complete", "The Lost Sword");
+        service.notify(player, "Level up!", "Level 5");
+
+        service.flush();
+        service.flush();
+
+        assertEquals(List.of("Quest complete", "The Lost Sword"), sent);
+    }
+}
@@ -0,0 +1,91 @@
+package de.noel.testui.pages;
+
+import de.noel.testui.PageFixture;
+import de.noel.testui.async.AsyncUiExecutor;
+import de.noel.testui.drafts.FormDraft;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FormPageTest {
+
+    private PageFixture fixture;
+    private PageFixture.Build build;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fixture = new PageFixture();
+        build = fixture.build(p -> new FormPage(p, fixture.getDrafts()));
+
+        // The player typed a name, and the draft was committed
+        fixture.handle(build, event("Draft", "#NameInput"));
+        fixture.getDrafts().flush(PageFixture.PLAYER_ID);
+        assertNotNull(fixture.getDrafts().get(PageFixture.PLAYER_ID));
+
+        // Run saves right away on the calling thread
+        AsyncUiExecutor inline = mock(AsyncUiExecutor.class);
+        when(inline.submit(any())).thenAnswer(call -> {
+            try {
+                return CompletableFuture.completedFuture(call.<Callable<?>>getArgument(0).call());
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+        when(fixture.getPlugin().getAsyncExecutor()).thenReturn(inline);
+    }
+
+    @Test
+    void saveDiscardsDraftOnceItSucceeded() {
+        fixture.handle(build, event("Save", "#SaveButton"));
+        // Not before the result is back on the world thread
+        assertNotNull(fixture.getDrafts().get(PageFixture.PLAYER_ID));
+
+        assertEquals(1, fixture.runWorldTasks());
+
+        assertNull(fixture.getDrafts().get(PageFixture.PLAYER_ID));
+        verify(fixture.getPageManager()).setPage(any(), any(), any());
+    }
+
+    @Test
+    void rejectedSaveKeepsDraftAndPage() {
+        // An executor that takes no tasks at all
+        when(fixture.getPlugin().getAsyncExecutor()).thenReturn(new AsyncUiExecutor(1, 0));
+
+        fixture.handle(build, event("Save", "#SaveButton"));
+
+        assertEquals(0, fixture.runWorldTasks());
+        assertNotNull(fixture.getDrafts().get(PageFixture.PLAYER_ID));
+        verify(fixture.getPageManager(), never()).setPage(any(), any(), any());
+    }
+
+    @Test
+    void failedSaveKeepsDraftAndPage() {
+        doThrow(new IllegalStateException("player left")).when(fixture.getPlayerRef()).sendMessage(any());
+
+        fixture.handle(build, event("Save", "#SaveButton"));
+
+        assertEquals(0, fixture.runWorldTasks());
+        assertNotNull(fixture.getDrafts().get(PageFixture.PLAYER_ID));
+        verify(fixture.getPageManager(), never()).setPage(any(), any(), any());
+    }
+
+    private FormPage.FormEventData event(String action, String selector) {
+        FormPage.FormEventData data = new FormPage.FormEventData();
+        data.action = action;
+        data.playerName = "Steve";
+        data.binding = PageFixture.bindingId(build, selector);
+        return data;
+    }
+}
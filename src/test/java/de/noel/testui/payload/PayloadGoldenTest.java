@@ -0,0 +1,65 @@
+package de.noel.testui.payload;
+
+import com.hypixel.hytale.server.core.entity.entities.player.pages.CustomUIPage;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import de.noel.testui.PageFixture;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * PayloadGoldenTest - Compares each budgeted page's first build with its golden report.
+ *
+ * The goldens live in src/test/resources/payload/PageName.txt. After an
+ * intended payload change, regenerate them with
+ *   ./gradlew test -Dtestui.payload.updateGoldens=true
+ * and review the diff like any other code change.
+ */
+class PayloadGoldenTest {
+
+    private static final Path GOLDEN_SOURCE_DIR = Path.of("src/test/resources/payload");
+
+    private static PageFixture fixture;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        fixture = new PageFixture();
+        PageFixture.configureBudgets();
+    }
+
+    @TestFactory
+    List<DynamicTest> buildsMatchGoldens() {
+        return fixture.budgetedPages().entrySet().stream()
+            .map(entry -> DynamicTest.dynamicTest(entry.getKey(), () -> check(entry.getKey(), entry.getValue())))
+            .toList();
+    }
+
+    private static void check(String name, Function<PlayerRef, CustomUIPage> factory) throws IOException {
+        PageFixture.Build build = fixture.build(factory);
+        PayloadStats stats = PayloadMeter.measure(build.commands(), build.events());
+        String actual = PayloadMeter.report(build.page().getClass(), build.commands(), build.events(), stats);
+
+        if (Boolean.getBoolean("testui.payload.updateGoldens")) {
+            Files.createDirectories(GOLDEN_SOURCE_DIR);
+            Files.writeString(GOLDEN_SOURCE_DIR.resolve(name + ".txt"), actual, StandardCharsets.UTF_8);
+            return;
+        }
+
+        try (InputStream in = PayloadGoldenTest.class.getResourceAsStream("/payload/" + name + ".txt")) {
+            assertNotNull(in, "Missing golden payload/" + name + ".txt - run with -Dtestui.payload.updateGoldens=true");
+            String expected = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(expected, actual, name + " payload changed - update the golden if this is intended");
+        }
+    }
+}
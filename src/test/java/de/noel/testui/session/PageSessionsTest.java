@@ -0,0 +1,156 @@
+package de.noel.testui.session;
+
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.Nonnull;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PageSessionsTest {
+
+    private static final long TTL = 60_000;
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTrip() throws IOException {
+        Path file = dir.resolve("sessions.bin");
+        PageSessions sessions = new PageSessions(file, TTL);
+        sessions.capture(player(ALICE), page("form", 3));
+        sessions.capture(player(BOB), page("info", 1));
+        sessions.flush();
+
+        PageSessions reloaded = new PageSessions(file, TTL);
+        reloaded.load();
+        assertEquals("form", reloaded.typeOf(ALICE));
+        assertEquals("info", reloaded.typeOf(BOB));
+    }
+
+    @Test
+    void laterRecordsReplaceEarlierOnes() throws IOException {
+        Path file = dir.resolve("sessions.bin");
+        PageSessions sessions = new PageSessions(file, TTL);
+        sessions.capture(player(ALICE), page("form", 3));
+        sessions.flush();
+        sessions.capture(player(ALICE), page("tutorial3", 0));
+        sessions.flush();
+
+        PageSessions reloaded = new PageSessions(file, TTL);
+        reloaded.load();
+        assertEquals("tutorial3", reloaded.typeOf(ALICE));
+    }
+
+    @Test
+    void tombstoneRemovesSession() throws IOException {
+        Path file = dir.resolve("sessions.bin");
+        PageSessions sessions = new PageSessions(file, TTL);
+        sessions.capture(player(ALICE), page("form", 3));
+        sessions.capture(player(BOB), page("info", 1));
+        sessions.flush();
+        sessions.endNow(player(ALICE));
+        sessions.flush();
+
+        PageSessions reloaded = new PageSessions(file, TTL);
+        reloaded.load();
+        assertNull(reloaded.typeOf(ALICE));
+        assertEquals("info", reloaded.typeOf(BOB));
+    }
+
+    @Test
+    void truncatedTailKeepsEarlierRecords() throws IOException {
+        Path file = dir.resolve("sessions.bin");
+        PageSessions sessions = new PageSessions(file, TTL);
+        sessions.capture(player(ALICE), page("form", 3));
+        sessions.flush();
+        long complete = Files.size(file);
+        sessions.capture(player(BOB), page("info", 40));
+        sessions.flush();
+
+        // A crash in the middle of the second write
+        byte[] data = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(data, (int) complete + 10));
+
+        PageSessions reloaded = new PageSessions(file, TTL);
+        reloaded.load();
+        assertEquals("form", reloaded.typeOf(ALICE));
+        assertNull(reloaded.typeOf(BOB));
+
+        // The cut-off record was removed, so new records can be read back again
+        reloaded.capture(player(BOB), page("info", 1));
+        reloaded.flush();
+        PageSessions again = new PageSessions(file, TTL);
+        again.load();
+        assertEquals("form", again.typeOf(ALICE));
+        assertEquals("info", again.typeOf(BOB));
+    }
+
+    @Test
+    void failedWriteKeepsBatch() throws IOException {
+        // A directory where the file should be makes the write fail
+        Path file = dir.resolve("sessions.bin");
+        Files.createDirectories(file);
+        PageSessions sessions = new PageSessions(file, TTL);
+        sessions.capture(player(ALICE), page("form", 3));
+        assertThrows(IOException.class, sessions::flush);
+
+        Files.delete(file);
+        sessions.flush();
+        PageSessions reloaded = new PageSessions(file, TTL);
+        reloaded.load();
+        assertEquals("form", reloaded.typeOf(ALICE));
+    }
+
+    @Test
+    void dismissIsCancelledByDisconnectButButtonCloseIsNot() throws IOException {
+        Path file = dir.resolve("sessions.bin");
+        PageSessions sessions = new PageSessions(file, TTL);
+        sessions.capture(player(ALICE), page("form", 3));
+        sessions.capture(player(BOB), page("info", 1));
+
+        sessions.end(player(ALICE));
+        sessions.disconnected(ALICE);
+        sessions.endNow(player(BOB));
+        sessions.disconnected(BOB);
+        sessions.flush();
+
+        assertEquals("form", sessions.typeOf(ALICE));
+        assertNull(sessions.typeOf(BOB));
+    }
+
+    private static PlayerRef player(UUID id) {
+        PlayerRef player = mock(PlayerRef.class);
+        when(player.getUuid()).thenReturn(id);
+        return player;
+    }
+
+    private static RestorablePage page(String type, int stateBytes) {
+        return new RestorablePage() {
+            @Nonnull
+            @Override
+            public String getSessionType() {
+                return type;
+            }
+
+            @Override
+            public void writeSession(@Nonnull DataOutput out) throws IOException {
+                out.write(new byte[stateBytes]);
+            }
+        };
+    }
+}
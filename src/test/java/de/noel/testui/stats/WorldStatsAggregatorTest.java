@@ -0,0 +1,73 @@
+package de.noel.testui.stats;
+
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorldStatsAggregatorTest {
+
+    @Test
+    void stalledWorldIsNotSampledAgain() throws InterruptedException {
+        // A world whose thread never gets to its queue: execute() accepts the task and drops it
+        World stalled = mock(World.class);
+        when(stalled.getName()).thenReturn("stalled");
+        Universe universe = mock(Universe.class);
+        when(universe.getWorlds()).thenReturn(Map.of("stalled", stalled));
+
+        try (MockedStatic<Universe> statics = mockStatic(Universe.class)) {
+            statics.when(Universe::get).thenReturn(universe);
+            WorldStatsAggregator aggregator = new WorldStatsAggregator(1000, 10);
+
+            aggregator.refresh(Runnable::run);
+            NetworkStats first = awaitSnapshot(aggregator, NetworkStats.EMPTY);
+            assertFalse(first.worlds().get(0).responded());
+
+            aggregator.refresh(Runnable::run);
+            NetworkStats second = awaitSnapshot(aggregator, first);
+            assertFalse(second.worlds().get(0).responded());
+
+            verify(stalled, times(1)).execute(any());
+        }
+    }
+
+    @Test
+    void reducesSamplesAcrossForks() {
+        WorldStats[] samples = new WorldStats[20];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = new WorldStats("w" + i, i, 10 * i, i == 13 ? 5000 : i);
+        }
+
+        NetworkStats stats = NetworkStats.of(samples, 42);
+
+        assertEquals(190, stats.players());
+        assertEquals(1900, stats.entities());
+        assertEquals(5000, stats.maxLagMicros());
+        assertEquals(20, stats.worlds().size());
+    }
+
+    private static NetworkStats awaitSnapshot(WorldStatsAggregator aggregator, NetworkStats previous) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (aggregator.getSnapshot() == previous) {
+            assertTrue(System.nanoTime() < deadline, "no snapshot within 5s");
+            Thread.sleep(5);
+        }
+        NetworkStats snapshot = aggregator.getSnapshot();
+        assertNotSame(previous, snapshot);
+        return snapshot;
+    }
+}
@@ -0,0 +1,51 @@
+package de.noel.testui.wizard;
+
+import com.hypixel.hytale.protocol.packets.interface_.CustomUICommand;
+import de.noel.testui.PageFixture;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class OnboardingPageTest {
+
+    @Test
+    void firstStepIsTranslated() throws Exception {
+        PageFixture fixture = new PageFixture();
+        when(fixture.getPlayerRef().getLanguage()).thenReturn("de");
+
+        Map<String, String> sets = sets(fixture.build(OnboardingPage::new));
+
+        assertTrue(sets.get("#StepTitle.Text").contains("Profil"));
+        assertTrue(sets.get("#NameLabel.Text").contains("Anzeigename"));
+        assertTrue(sets.get("#NameInput.PlaceholderText").contains("3-16 Zeichen"));
+        // Labels of later steps are only sent with their step
+        assertFalse(sets.containsKey("#Rule1.Text"));
+    }
+
+    @Test
+    void defaultLocaleSendsNoLabels() throws Exception {
+        PageFixture fixture = new PageFixture();
+
+        Map<String, String> sets = sets(fixture.build(OnboardingPage::new));
+
+        assertFalse(sets.containsKey("#NameLabel.Text"));
+    }
+
+    /**
+     * Selector -> data of every command that sets a value.
+     */
+    private static Map<String, String> sets(PageFixture.Build build) {
+        Map<String, String> sets = new HashMap<>();
+        for (CustomUICommand command : build.commands().getCommands()) {
+            if (command.selector != null && command.data != null) {
+                sets.put(command.selector, command.data);
+            }
+        }
+        return sets;
+    }
+}